@@ -0,0 +1,118 @@
+package com.pa.controller;
+
+import com.pa.model.creator.factory.PieceShape;
+import com.pa.model.creator.factory.PuzzleFactory;
+import com.pa.model.game.MoveResult;
+import com.pa.model.puzzle.PuzzleData;
+import com.pa.model.puzzle.PuzzleFragment;
+import com.pa.view.icon.PuzzleIcon;
+import com.pa.view.icon.PuzzleIconFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class PuzzleControllerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CrowdedBoard {
+
+        @Param({"10", "30", "50"})
+        private int gridSize;
+
+        private BufferedImage image;
+        private PuzzleData data;
+        private PuzzleController controller;
+        private PuzzleIcon[] icons;
+        private Point[] anchors;
+        private int nextOrdinal;
+        private int nudge;
+
+        @Setup(Level.Trial)
+        public void createImage() {
+            image = new BufferedImage(2000, 2000, BufferedImage.TYPE_BYTE_GRAY);
+        }
+
+        @Setup(Level.Iteration)
+        public void generatePuzzle() {
+            data = PuzzleFactory.getFactory(PieceShape.CLASSIC).generatePuzzle(gridSize, gridSize, image, 42L);
+            data.regularizePieces(new Rectangle(-1000, -1000, 4000, 4000), 42L);
+
+            controller = new PuzzleController();
+            controller.setPuzzleData(data);
+
+            icons = new PuzzleIcon[data.countPieces()];
+            anchors = new Point[icons.length];
+            for (int ordinal = 0; ordinal < icons.length; ++ordinal) {
+                icons[ordinal] = PuzzleIconFactory.createPuzzleIcon(data.getFragment(ordinal), image);
+                anchors[ordinal] = data.getFragmentPosition(data.getFragment(ordinal));
+            }
+            nextOrdinal = 0;
+            nudge = 1;
+        }
+
+        // Drops alternate 1px either side of the regularized position, so fragments never drift towards their solved place.
+        private PuzzleIcon nextNudgedIcon() {
+            PuzzleIcon icon = icons[nextOrdinal];
+            Point anchor = anchors[nextOrdinal];
+            icon.setLocation(anchor.x + nudge, anchor.y);
+            if (++nextOrdinal == icons.length) {
+                nextOrdinal = 0;
+                nudge = -nudge;
+            }
+            return icon;
+        }
+
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MoveResult dropWithoutJoining(CrowdedBoard board) {
+        return board.controller.handlePuzzleIconPositionChange(board.nextNudgedIcon());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int dropJoiningEveryRow(CrowdedBoard board) {
+        PuzzleData data = board.data;
+        int joined = 0;
+        for (int row = 0; row < data.countRows(); ++row) {
+            for (int column = 1; column < data.countColumns(); ++column) {
+                int ordinal = data.countOrdinal(row, column);
+                PuzzleFragment fragment = data.getFragmentOwningPiece(ordinal);
+                if (fragment.getId() != ordinal) {
+                    continue;
+                }
+
+                int leftOrdinal = ordinal - 1;
+                PuzzleIcon icon = board.icons[ordinal];
+                icon.setLocation(data.getPieceX(leftOrdinal) + data.getSolvedPieceX(ordinal) - data.getSolvedPieceX(leftOrdinal),
+                        data.getPieceY(leftOrdinal) + data.getSolvedPieceY(ordinal) - data.getSolvedPieceY(leftOrdinal));
+                if (board.controller.handlePuzzleIconPositionChange(icon).changesFragments()) {
+                    joined++;
+                }
+            }
+        }
+
+        return joined;
+    }
+
+}
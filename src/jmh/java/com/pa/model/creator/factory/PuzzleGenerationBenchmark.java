@@ -0,0 +1,51 @@
+package com.pa.model.creator.factory;
+
+import com.pa.model.puzzle.PuzzleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class PuzzleGenerationBenchmark {
+
+    @Param({"50", "100", "200"})
+    private int gridSize;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    @Param({"CLASSIC"})
+    private PieceShape shape;
+
+    private BufferedImage image;
+    private PuzzleFactory factory;
+
+    @Setup
+    public void setUp() {
+        image = new BufferedImage(2000, 2000, BufferedImage.TYPE_BYTE_GRAY);
+        factory = PuzzleFactory.getFactory(shape);
+        factory.setParallelism(threads);
+    }
+
+    @Benchmark
+    public PuzzleData generatePuzzle() {
+        return factory.generatePuzzle(gridSize, gridSize, image, 42L);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.pa.model.puzzle;
+
+import com.pa.model.creator.factory.PieceShape;
+import com.pa.model.creator.factory.PuzzleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class FragmentOutlineBenchmark {
+
+    @Param({"5", "10", "15"})
+    private int gridSize;
+
+    private PuzzlePiece[] edgePieces;
+    private PuzzlePiece[] areaPieces;
+
+    @Setup
+    public void setUp() {
+        PuzzleData data = PuzzleFactory.getFactory(PieceShape.CLASSIC).generatePuzzle(gridSize, gridSize, new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_RGB), 42L);
+
+        edgePieces = new PuzzlePiece[data.countPieces()];
+        areaPieces = new PuzzlePiece[data.countPieces()];
+        for (int ordinal = 0; ordinal < data.countPieces(); ++ordinal) {
+            PuzzlePiece piece = data.getPiece(ordinal);
+            edgePieces[ordinal] = piece;
+
+            PuzzlePiece edgelessPiece = new PuzzlePiece(piece.getShape());
+            edgelessPiece.setOrdinal(ordinal);
+            edgelessPiece.setNeighbouringOrdinals(piece.getNeighbouringOrdinals());
+            areaPieces[ordinal] = edgelessPiece;
+        }
+    }
+
+    @Benchmark
+    public Shape edgeCancellation() {
+        return buildFragment(edgePieces).getShape();
+    }
+
+    @Benchmark
+    public Shape lazyAreaUnion() {
+        return buildFragment(areaPieces).getShape();
+    }
+
+    @Benchmark
+    public Shape rebuiltArea() {
+        Area shape = new Area();
+        for (int added = 1; added <= edgePieces.length; ++added) {
+            shape = new Area();
+            for (int i = 0; i < added; ++i) {
+                shape.add(new Area(edgePieces[i].getShape()));
+            }
+        }
+
+        return shape;
+    }
+
+    private static PuzzleFragment buildFragment(PuzzlePiece[] pieces) {
+        PuzzleFragment fragment = new PuzzleFragment(0);
+        for (PuzzlePiece piece : pieces) {
+            fragment.addPiece(piece);
+        }
+
+        return fragment;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.pa.model.puzzle;
+
+import com.pa.model.creator.factory.PieceShape;
+import com.pa.model.creator.factory.PuzzleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class PuzzleDataBenchmark {
+
+    @Param({"10", "30", "50"})
+    private int gridSize;
+
+    private BufferedImage image;
+    private PuzzleData data;
+
+    @Setup(Level.Trial)
+    public void createImage() {
+        image = new BufferedImage(2000, 2000, BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    @Setup(Level.Iteration)
+    public void generatePuzzle() {
+        data = PuzzleFactory.getFactory(PieceShape.CLASSIC).generatePuzzle(gridSize, gridSize, image, 42L);
+        data.regularizePieces(new Rectangle(-1000, -1000, 4000, 4000), 42L);
+    }
+
+    @Benchmark
+    public PuzzleFragment mergeCascade() {
+        PuzzleFragment mainFragment = data.getFragment(0);
+        for (int ordinal = 1; ordinal < data.countPieces(); ++ordinal) {
+            data.mergeFragments(mainFragment, data.getFragmentOwningPiece(ordinal));
+        }
+
+        return mainFragment;
+    }
+
+    @Benchmark
+    public int finalizeCascade() {
+        for (int ordinal = 0; ordinal < data.countPieces(); ++ordinal) {
+            data.finalize(data.getFragmentOwningPiece(ordinal));
+        }
+
+        return data.countFinalizedPieces();
+    }
+
+    @Benchmark
+    public int rowMergeThenFinalizeCascade() {
+        for (int row = 0; row < data.countRows(); ++row) {
+            PuzzleFragment rowFragment = data.getFragmentOwningPiece(data.countOrdinal(row, 0));
+            for (int column = 1; column < data.countColumns(); ++column) {
+                data.mergeFragments(rowFragment, data.getFragmentOwningPiece(data.countOrdinal(row, column)));
+            }
+            data.finalize(rowFragment);
+        }
+
+        return data.countFinalizedPieces();
+    }
+
+    @Benchmark
+    public PuzzleData regularizePieces() {
+        data.regularizePieces(new Rectangle(-1000, -1000, 4000, 4000), 42L);
+        return data;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.pa.view.icon;
+
+import com.pa.model.creator.factory.PieceShape;
+import com.pa.model.creator.factory.PuzzleFactory;
+import com.pa.model.puzzle.PuzzleData;
+import com.pa.model.puzzle.PuzzleFragment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class FragmentPaintBenchmark {
+
+    @Param({"INT_RGB", "INT_ARGB", "INT_ARGB_PRE", "3BYTE_BGR", "4BYTE_ABGR", "BYTE_GRAY"})
+    private String imageType;
+
+    @Param({"false", "true"})
+    private boolean converted;
+
+    private BufferedImage image;
+    private PuzzleFragment fragment;
+
+    @Setup
+    public void setUp() {
+        BufferedImage source = new BufferedImage(1200, 900, toImageType(imageType));
+        Graphics2D g2 = source.createGraphics();
+        g2.setPaint(new GradientPaint(0, 0, Color.ORANGE, 1200, 900, new Color(20, 60, 200, 220)));
+        g2.fillRect(0, 0, 1200, 900);
+        g2.dispose();
+
+        image = converted ? CompatibleImageConverter.convert(source, null) : source;
+
+        PuzzleData data = PuzzleFactory.getFactory(PieceShape.CLASSIC).generatePuzzle(6, 8, image, 42L);
+        fragment = data.getFragmentOwningPiece(data.countOrdinal(2, 3));
+        for (int ordinal : new int[] {data.countOrdinal(2, 4), data.countOrdinal(3, 3), data.countOrdinal(3, 4)}) {
+            data.mergeFragments(fragment, data.getFragmentOwningPiece(ordinal));
+        }
+        fragment.getShape();
+    }
+
+    @Benchmark
+    public BufferedImage paintFragment() {
+        return FragmentSpriteCache.render(fragment, image, true, null);
+    }
+
+    private static int toImageType(String imageType) {
+        return switch (imageType) {
+            case "INT_RGB" -> BufferedImage.TYPE_INT_RGB;
+            case "INT_ARGB" -> BufferedImage.TYPE_INT_ARGB;
+            case "INT_ARGB_PRE" -> BufferedImage.TYPE_INT_ARGB_PRE;
+            case "3BYTE_BGR" -> BufferedImage.TYPE_3BYTE_BGR;
+            case "4BYTE_ABGR" -> BufferedImage.TYPE_4BYTE_ABGR;
+            case "BYTE_GRAY" -> BufferedImage.TYPE_BYTE_GRAY;
+            default -> throw new IllegalArgumentException(String.format("Unknown image type %s.", imageType));
+        };
+    }
+
+}
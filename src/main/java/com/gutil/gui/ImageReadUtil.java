@@ -0,0 +1,89 @@
+package com.gutil.gui;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+public class ImageReadUtil {
+
+    public static Dimension readSize(File file) {
+        if (file == null) {
+            return null;
+        }
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = getReader(input);
+            if (reader == null) {
+                return null;
+            }
+
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static BufferedImage readSubsampled(File file, int targetWidth, int targetHeight) {
+        return readRegion(file, null, targetWidth, targetHeight);
+    }
+
+    public static BufferedImage readRegion(File file, Rectangle region, int targetWidth, int targetHeight) {
+        if (file == null) {
+            return null;
+        }
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = getReader(input);
+            if (reader == null) {
+                return null;
+            }
+
+            try {
+                reader.setInput(input, true, true);
+                Rectangle sourceRegion = new Rectangle(0, 0, reader.getWidth(0), reader.getHeight(0));
+                if (region != null) {
+                    sourceRegion = sourceRegion.intersection(region);
+                }
+
+                int subsampling = countSubsampling(sourceRegion.width, sourceRegion.height, targetWidth, targetHeight);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(sourceRegion);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static int countSubsampling(int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        int horizontal = targetWidth > 0 ? sourceWidth / targetWidth : Integer.MAX_VALUE;
+        int vertical = targetHeight > 0 ? sourceHeight / targetHeight : Integer.MAX_VALUE;
+        int subsampling = Math.min(horizontal, vertical);
+        return subsampling == Integer.MAX_VALUE ? 1 : Math.max(1, subsampling);
+    }
+
+    private static ImageReader getReader(ImageInputStream input) {
+        if (input == null) {
+            return null;
+        }
+
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+}
@@ -6,6 +6,28 @@ public class AppEnv {
 
     private static final String resourceDirectory = "C:\\Workspace\\Java\\PuzzleApplication\\src\\main\\resources";
 
+    private static final String applicationDataDirectory = ".puzzleapplication";
+
+    public static File getApplicationDataDirectory() {
+        return new File(System.getProperty("user.home"), applicationDataDirectory);
+    }
+
+    public static File getThumbnailCacheDirectory() {
+        return new File(getApplicationDataDirectory(), "thumbnails");
+    }
+
+    public static File getSavedGameFile() {
+        return new File(getApplicationDataDirectory(), "saved.pags");
+    }
+
+    public static File getMoveJournalFile() {
+        return new File(getApplicationDataDirectory(), "saved.pamj");
+    }
+
+    public static File getSessionDirectory() {
+        return new File(getApplicationDataDirectory(), "sessions");
+    }
+
     public static File getResourceDirectory() {
         return new File(resourceDirectory);
     }
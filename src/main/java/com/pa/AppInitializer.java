@@ -1,5 +1,6 @@
 package com.pa;
 
+import com.pa.metrics.PuzzleMetrics;
 import com.pa.view.AppWindow;
 
 import java.awt.EventQueue;
@@ -7,6 +8,7 @@ import java.awt.EventQueue;
 public class AppInitializer {
 
     public static void main(String... args) {
+        PuzzleMetrics.register();
         EventQueue.invokeLater(() -> {
             AppWindow window = new AppWindow();
         });
@@ -1,5 +1,6 @@
 package com.pa.controller;
 
+import com.pa.model.creator.BuildStage;
 import com.pa.model.creator.GameCreator;
 import com.pa.model.creator.factory.PieceShape;
 import com.pa.model.game.Game;
@@ -7,6 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.Image;
+import java.io.File;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public class GameCreatorController {
 
@@ -19,8 +24,17 @@ public class GameCreatorController {
     }
 
     public Game buildGame() throws PAControllerException {
+        return buildGame(stage -> {}, () -> false);
+    }
+
+    public Game buildGame(Consumer<BuildStage> progressListener, BooleanSupplier cancellationCheck) throws PAControllerException {
+        creator.setProgressListener(progressListener);
+        creator.setCancellationCheck(cancellationCheck);
         try {
             return creator.buildGame();
+        } catch (CancellationException e) {
+            LOG.info("Game building cancelled.");
+            throw e;
         } catch (Exception e) {
             LOG.error("Cannot build a game.", e);
             throw new PAControllerException("Cannot build a game.", e);
@@ -43,6 +57,10 @@ public class GameCreatorController {
         creator.setImage(image);
     }
 
+    public void setImageFile(File imageFile) {
+        creator.setImageFile(imageFile);
+    }
+
     public void setMaxPuzzleWidth(int width) {
         creator.setMaxPuzzleWidth(width);
     }
@@ -0,0 +1,173 @@
+package com.pa.controller;
+
+import com.pa.model.game.Game;
+import com.pa.model.game.MoveRecord;
+import com.pa.model.game.MoveResult;
+import com.pa.model.game.PuzzleEngine;
+import com.pa.model.save.GameSnapshot;
+import com.pa.model.save.MoveJournal;
+import com.pa.model.save.RecordedSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class GameStorageController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameStorageController.class);
+
+    private static final int COMPACTION_THRESHOLD = 500;
+    private static final String SNAPSHOT_EXTENSION = ".pags";
+    private static final String JOURNAL_EXTENSION = ".pamj";
+
+    private MoveJournal journal;
+    private Game journaledGame;
+    private Game resumedGame;
+    private long resumedJournalEpoch;
+    private MoveJournal recording;
+
+    public GameStorageController() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stopJournal();
+            stopRecording();
+        }, "move-journal-shutdown"));
+    }
+
+    public void saveGame(Game game, File file) throws PAControllerException {
+        if (game == null) {
+            throw new PAControllerException("There is no game to save.");
+        }
+
+        synchronized (this) {
+            if (journal != null && journaledGame == game) {
+                journal.requestCompaction();
+                return;
+            }
+        }
+
+        try {
+            Files.createDirectories(file.toPath().toAbsolutePath().getParent());
+            GameSnapshot.write(game, file.toPath());
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Cannot save the game to {}.", file, e);
+            throw new PAControllerException("Cannot save the game.", e);
+        }
+    }
+
+    public Game resumeGame(File file, File journalFile) throws PAControllerException {
+        try {
+            GameSnapshot snapshot = GameSnapshot.read(file.toPath());
+            Game game = snapshot.getGame();
+            List<MoveRecord> records = MoveJournal.read(journalFile.toPath(), game.getPuzzleData().getGenerationSeed(), snapshot.getJournalEpoch());
+            replay(game, records);
+            synchronized (this) {
+                resumedGame = game;
+                resumedJournalEpoch = snapshot.getJournalEpoch();
+            }
+            return game;
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Cannot resume the game from {}.", file, e);
+            throw new PAControllerException("Cannot resume the game.", e);
+        }
+    }
+
+    private void replay(Game game, List<MoveRecord> records) {
+        PuzzleEngine engine = new PuzzleEngine(game.getPuzzleData());
+        int divergedMoves = 0;
+        for (MoveRecord record : records) {
+            MoveResult result = engine.replay(record);
+            if (result.getType() != record.getResult().getType()) {
+                ++divergedMoves;
+            }
+        }
+
+        if (divergedMoves > 0) {
+            LOG.warn("{} of {} journaled move(-s) produced a different result on replay.", divergedMoves, records.size());
+        }
+    }
+
+    public synchronized void startJournal(Game game, PuzzleEngine engine, File snapshotFile, File journalFile) throws PAControllerException {
+        stopJournal();
+        try {
+            Files.createDirectories(journalFile.toPath().toAbsolutePath().getParent());
+            journal = new MoveJournal(journalFile.toPath(), snapshotFile.toPath(), game, engine, COMPACTION_THRESHOLD);
+            journal.start(game == resumedGame ? resumedJournalEpoch : MoveJournal.NO_EPOCH);
+            journaledGame = game;
+            resumedGame = null;
+        } catch (IOException e) {
+            journal = null;
+            LOG.error("Cannot start the move journal {}.", journalFile, e);
+            throw new PAControllerException("Cannot start the move journal.", e);
+        }
+    }
+
+    public synchronized void startRecording(Game game, PuzzleEngine engine, File sessionDirectory) throws PAControllerException {
+        stopRecording();
+        String sessionName = "session-" + System.currentTimeMillis();
+        File snapshotFile = new File(sessionDirectory, sessionName + SNAPSHOT_EXTENSION);
+        File journalFile = new File(sessionDirectory, sessionName + JOURNAL_EXTENSION);
+        try {
+            Files.createDirectories(sessionDirectory.toPath());
+            recording = new MoveJournal(journalFile.toPath(), snapshotFile.toPath(), game, engine, Integer.MAX_VALUE);
+            recording.start(MoveJournal.NO_EPOCH);
+            LOG.info("Recording the session into {}.", journalFile);
+        } catch (IOException e) {
+            recording = null;
+            LOG.error("Cannot record the session into {}.", journalFile, e);
+            throw new PAControllerException("Cannot record the session.", e);
+        }
+    }
+
+    public synchronized void stopRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public File[] findLatestSession(File sessionDirectory) {
+        File[] journals = sessionDirectory.listFiles((directory, name) -> name.endsWith(JOURNAL_EXTENSION));
+        if (journals == null) {
+            return null;
+        }
+
+        return Arrays.stream(journals)
+                .sorted(Comparator.comparing(File::getName).reversed())
+                .map(journalFile -> new File[] {toSnapshotFile(journalFile), journalFile})
+                .filter(files -> files[0].isFile())
+                .findFirst()
+                .orElse(null);
+    }
+
+    public RecordedSession loadSession(File snapshotFile, File journalFile) throws PAControllerException {
+        try {
+            return RecordedSession.read(snapshotFile.toPath(), journalFile.toPath());
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Cannot load the recorded session {}.", journalFile, e);
+            throw new PAControllerException("Cannot load the recorded session.", e);
+        }
+    }
+
+    private static File toSnapshotFile(File journalFile) {
+        String name = journalFile.getName();
+        return new File(journalFile.getParentFile(), name.substring(0, name.length() - JOURNAL_EXTENSION.length()) + SNAPSHOT_EXTENSION);
+    }
+
+    public synchronized void stopJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+            journaledGame = null;
+        }
+    }
+
+    public boolean hasSavedGame(File file) {
+        return file.isFile();
+    }
+
+}
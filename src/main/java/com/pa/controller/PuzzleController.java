@@ -1,9 +1,11 @@
 package com.pa.controller;
 
+import com.pa.model.game.MoveRecord;
+import com.pa.model.game.MoveResult;
+import com.pa.model.game.PuzzleEngine;
 import com.pa.model.puzzle.PuzzleData;
 import com.pa.model.puzzle.PuzzleFragment;
 import com.pa.model.puzzle.PuzzlePiece;
-import com.pa.view.game.GamePanel;
 import com.pa.view.icon.PuzzleIcon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,31 +13,28 @@ import org.slf4j.LoggerFactory;
 import java.awt.Image;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Supplier;
 
 public class PuzzleController {
 
     private static final Logger LOG = LoggerFactory.getLogger(PuzzleController.class);
 
-    private GamePanel gamePanel;
-
     private PuzzleData puzzleData;
+    private PuzzleEngine engine;
     private Supplier<Point> offsetSupplier;
-    private int puzzleToleranceForJoining;
 
-    public PuzzleController() {
-        puzzleToleranceForJoining = 10;
+    public void setPuzzleData(PuzzleData data) {
+        this.puzzleData = data;
+        this.engine = data != null ? new PuzzleEngine(data) : null;
     }
 
-    public void setGamePanel(GamePanel panel) {
-        this.gamePanel = panel;
+    public void setEngine(PuzzleEngine engine) {
+        this.engine = engine;
+        this.puzzleData = engine != null ? engine.getPuzzleData() : null;
     }
 
-    public void setPuzzleData(PuzzleData data) {
-        this.puzzleData = data;
+    public PuzzleEngine getEngine() {
+        return engine;
     }
 
     public void setOffsetSupplier(Supplier<Point> offsetSupplier) {
@@ -54,6 +53,10 @@ public class PuzzleController {
         return puzzleData != null ? puzzleData.getFragments(includeFinalized) : new PuzzleFragment[0];
     }
 
+    public PuzzleFragment getFragment(int id) {
+        return puzzleData != null ? puzzleData.getFragment(id) : null;
+    }
+
     public Point getFragmentPosition(PuzzleFragment fragment) {
         return puzzleData != null ? puzzleData.getFragmentPosition(fragment) : null;
     }
@@ -70,70 +73,27 @@ public class PuzzleController {
         Rectangle adjustedArea = new Rectangle(area.x + areaOffset.x, area.y + areaOffset.y, area.width, area.height);
         LOG.info("Regularizing pieces. Area: {}.", adjustedArea);
 
-        if (puzzleData != null) {
-            puzzleData.regularizePieces(adjustedArea);
+        if (engine != null) {
+            engine.regularizePieces(adjustedArea);
         }
     }
 
-    public synchronized boolean handlePuzzleIconPositionChange(PuzzleIcon icon) {
-        Point newPosition = new Point(icon.getX() + getOffset().x, icon.getY() + getOffset().y);
+    public MoveResult handlePuzzleIconPositionChange(PuzzleIcon icon) {
         PuzzleFragment fragment = icon.getFragment();
         if (fragment == null) {
-            return false;
-        }
-
-        puzzleData.updatePosition(fragment, newPosition);
-
-        if (canMovedFragmentBeFinalized(fragment)) {
-            puzzleData.finalize(fragment);
-            LOG.debug("Currently {} pieces are finalized.", puzzleData.countFinalizedPieces());
-            return true;
+            return MoveResult.ignored(-1);
         }
 
-        boolean anyJoined = false;
-        Set<PuzzleFragment> checkedFragments = new HashSet<>();
-
-        int[] fragmentNeighboursOrdinals = fragment.getBorderingPiecesOrdinals();
-        for (int neighbourOrdinal : fragmentNeighboursOrdinals) {
-            PuzzlePiece neighbourPiece = puzzleData.getPiece(neighbourOrdinal);
-            PuzzleFragment neighbourFragment = puzzleData.getFragmentOwningPiece(neighbourPiece);
-
-            if (!checkedFragments.add(neighbourFragment)) {
-                continue;
-            }
-
-            Point neighbourNWCorner = neighbourPiece.getNWCorner();
-            Point neighbourPosition = puzzleData.getPiecePosition(neighbourOrdinal);
-
-            int[] possibleOrdinalsForMerging = neighbourPiece.getNeighbouringOrdinals();
-            for (int possibleOrdinal : possibleOrdinalsForMerging) {
-                if (!fragment.hasPiece(possibleOrdinal)) {
-                    continue;
-                }
-
-                PuzzlePiece possiblePieceForMerging = puzzleData.getPiece(possibleOrdinal);
-                Point possiblePieceForMergingNWCorner = possiblePieceForMerging.getNWCorner();
-                Point possiblePieceForMergingPosition = puzzleData.getPiecePosition(possibleOrdinal);
-
-                Point expectedDiff = new Point(neighbourNWCorner.x - possiblePieceForMergingNWCorner.x, neighbourNWCorner.y - possiblePieceForMergingNWCorner.y);
-                Point actualDiff = new Point(neighbourPosition.x - possiblePieceForMergingPosition.x, neighbourPosition.y - possiblePieceForMergingPosition.y);
-
-                if (PuzzleControllerUtil.arePointsEqual(expectedDiff, actualDiff, puzzleToleranceForJoining)) {
-                    puzzleData.mergeFragments(fragment, neighbourFragment);
-                    anyJoined = true;
-                }
-            }
-        }
+        Point offset = getOffset();
+        return moveFragment(fragment.getId(), icon.getX() + offset.x, icon.getY() + offset.y);
+    }
 
-        return anyJoined;
+    public MoveResult moveFragment(int fragmentId, int x, int y) {
+        return engine != null ? engine.moveFragment(fragmentId, x, y) : MoveResult.ignored(fragmentId);
     }
 
-    private boolean canMovedFragmentBeFinalized(PuzzleFragment fragment) {
-        return Arrays.stream(fragment.getPieces()).anyMatch(piece -> {
-            Point actualPosition = puzzleData.getPiecePosition(piece.getOrdinal());
-            Point expectedPosition = piece.getNWCorner();
-            return PuzzleControllerUtil.arePointsEqual(actualPosition, expectedPosition, puzzleToleranceForJoining);
-        });
+    public MoveResult replay(MoveRecord record) {
+        return engine != null ? engine.replay(record) : MoveResult.ignored(record.getFragmentId());
     }
 
 }
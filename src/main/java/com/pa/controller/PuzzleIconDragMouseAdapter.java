@@ -1,37 +1,61 @@
 package com.pa.controller;
 
 import com.gutil.gui.adapters.DragMouseAdapter;
+import com.pa.model.game.MoveResult;
+import com.pa.view.icon.DragOverlay;
 import com.pa.view.icon.PuzzleIcon;
 
 import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
 
 public class PuzzleIconDragMouseAdapter extends DragMouseAdapter {
 
     private final PuzzleIcon icon;
     private final PuzzleController controller;
-    private Runnable iconRebuildingAction;
+    private Consumer<MoveResult> iconReconcilingAction;
+    private DragOverlay dragOverlay;
+    private int grabX;
+    private int grabY;
 
     public PuzzleIconDragMouseAdapter(PuzzleIcon icon, PuzzleController controller) {
         super(icon);
         this.icon = icon;
         this.controller = controller;
-        iconRebuildingAction = () -> {};
+        iconReconcilingAction = result -> {};
     }
 
-    public void setIconRebuildingAction(Runnable action) {
-        iconRebuildingAction = action;
+    public void setIconReconcilingAction(Consumer<MoveResult> action) {
+        iconReconcilingAction = action;
+    }
+
+    public void setDragOverlay(DragOverlay dragOverlay) {
+        this.dragOverlay = dragOverlay;
     }
 
     @Override
     public void mousePressed(MouseEvent event) {
-        if (icon.canBeMoved()) {
+        if (!icon.canBeMoved()) {
+            return;
+        }
+
+        if (dragOverlay != null) {
+            grabX = event.getXOnScreen() - icon.getX();
+            grabY = event.getYOnScreen() - icon.getY();
+            dragOverlay.lift(icon);
+        } else {
             super.mousePressed(event);
         }
     }
 
     @Override
     public void mouseDragged(MouseEvent event) {
-        if (icon.canBeMoved()) {
+        if (!icon.canBeMoved()) {
+            return;
+        }
+
+        if (dragOverlay != null && dragOverlay.isLifting(icon)) {
+            dragOverlay.moveTo(event.getXOnScreen() - grabX, event.getYOnScreen() - grabY);
+        } else if (dragOverlay == null) {
             super.mouseDragged(event);
         }
     }
@@ -40,9 +64,13 @@ public class PuzzleIconDragMouseAdapter extends DragMouseAdapter {
     public void mouseReleased(MouseEvent event) {
         if (icon.canBeMoved()) {
             super.mouseReleased(event);
-            boolean result = controller.handlePuzzleIconPositionChange(icon);
-            if (result) {
-                iconRebuildingAction.run();
+            if (dragOverlay != null && dragOverlay.isLifting(icon)) {
+                dragOverlay.drop();
+            }
+
+            MoveResult result = controller.handlePuzzleIconPositionChange(icon);
+            if (result.changesFragments()) {
+                iconReconcilingAction.accept(result);
             }
         }
     }
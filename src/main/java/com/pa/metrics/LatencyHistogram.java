@@ -0,0 +1,88 @@
+package com.pa.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    // Bucket i counts samples in [2^i, 2^(i+1)) nanoseconds, which keeps recording to a single atomic increment.
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+
+    public LatencyHistogram() {
+        buckets = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        totalNanos = new LongAdder();
+        maxNanos = new AtomicLong();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            buckets.set(bucket, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            counts[bucket] = buckets.get(bucket);
+            total += counts[bucket];
+        }
+
+        long max = maxNanos.get();
+        double mean = total == 0 ? 0 : totalNanos.sum() / (double) total;
+        return new LatencySnapshot(total, toMicros(mean), toMicros(percentile(counts, total, 0.5, max)),
+                toMicros(percentile(counts, total, 0.9, max)), toMicros(percentile(counts, total, 0.99, max)), toMicros(max));
+    }
+
+    private static long percentile(long[] counts, long total, double fraction, long max) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max);
+            }
+        }
+
+        return max;
+    }
+
+    private static int bucketOf(long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket >= 62 ? Long.MAX_VALUE : (2L << bucket) - 1;
+    }
+
+    private static double toMicros(double nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.pa.metrics;
+
+import com.pa.model.creator.BuildStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PuzzleMetrics implements PuzzleMetricsMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PuzzleMetrics.class);
+
+    private static final String OBJECT_NAME = "com.pa:type=PuzzleMetrics";
+    private static final PuzzleMetrics INSTANCE = new PuzzleMetrics();
+
+    private final LongAdder moves;
+    private final LongAdder merges;
+    private final LongAdder mergedFragments;
+    private final LongAdder finalizations;
+    private final LongAdder finalizedFragments;
+    private final LatencyHistogram moveLatency;
+    private final LatencyHistogram mergeLatency;
+    private final LatencyHistogram finalizationLatency;
+    private final LatencyHistogram reshapeTime;
+    private final LatencyHistogram reloadTime;
+    private final LatencyHistogram iconPaintTime;
+    private final Map<BuildStage, LatencyHistogram> generationStageTimes;
+
+    private PuzzleMetrics() {
+        moves = new LongAdder();
+        merges = new LongAdder();
+        mergedFragments = new LongAdder();
+        finalizations = new LongAdder();
+        finalizedFragments = new LongAdder();
+        moveLatency = new LatencyHistogram();
+        mergeLatency = new LatencyHistogram();
+        finalizationLatency = new LatencyHistogram();
+        reshapeTime = new LatencyHistogram();
+        reloadTime = new LatencyHistogram();
+        iconPaintTime = new LatencyHistogram();
+        generationStageTimes = new EnumMap<>(BuildStage.class);
+        for (BuildStage stage : BuildStage.values()) {
+            generationStageTimes.put(stage, new LatencyHistogram());
+        }
+    }
+
+    public static PuzzleMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+                LOG.debug("Metrics registered as {}.", name);
+            }
+        } catch (JMException e) {
+            LOG.warn("Cannot register metrics MBean {}.", OBJECT_NAME, e);
+        }
+    }
+
+    public void recordMove(long nanos) {
+        moves.increment();
+        moveLatency.record(nanos);
+    }
+
+    public void recordMerge(int fragmentCount, long nanos) {
+        merges.increment();
+        mergedFragments.add(fragmentCount);
+        mergeLatency.record(nanos);
+    }
+
+    public void recordFinalization(int fragmentCount, long nanos) {
+        finalizations.increment();
+        finalizedFragments.add(fragmentCount);
+        finalizationLatency.record(nanos);
+    }
+
+    public void recordReshape(long nanos) {
+        reshapeTime.record(nanos);
+    }
+
+    public void recordReload(long nanos) {
+        reloadTime.record(nanos);
+    }
+
+    public void recordIconPaint(long nanos) {
+        iconPaintTime.record(nanos);
+    }
+
+    public void recordGenerationStage(BuildStage stage, long nanos) {
+        generationStageTimes.get(stage).record(nanos);
+    }
+
+    @Override
+    public long getMoveCount() {
+        return moves.sum();
+    }
+
+    @Override
+    public long getMergeCount() {
+        return merges.sum();
+    }
+
+    @Override
+    public long getMergedFragmentCount() {
+        return mergedFragments.sum();
+    }
+
+    @Override
+    public long getFinalizationCount() {
+        return finalizations.sum();
+    }
+
+    @Override
+    public long getFinalizedFragmentCount() {
+        return finalizedFragments.sum();
+    }
+
+    @Override
+    public LatencySnapshot getMoveLatency() {
+        return moveLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getMergeLatency() {
+        return mergeLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getFinalizationLatency() {
+        return finalizationLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getReshapeTime() {
+        return reshapeTime.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getReloadTime() {
+        return reloadTime.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getIconPaintTime() {
+        return iconPaintTime.snapshot();
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getGenerationStageTimes() {
+        Map<String, LatencySnapshot> snapshots = new LinkedHashMap<>();
+        generationStageTimes.forEach((stage, histogram) -> snapshots.put(stage.name(), histogram.snapshot()));
+        return snapshots;
+    }
+
+    @Override
+    public void reset() {
+        moves.reset();
+        merges.reset();
+        mergedFragments.reset();
+        finalizations.reset();
+        finalizedFragments.reset();
+        moveLatency.reset();
+        mergeLatency.reset();
+        finalizationLatency.reset();
+        reshapeTime.reset();
+        reloadTime.reset();
+        iconPaintTime.reset();
+        generationStageTimes.values().forEach(LatencyHistogram::reset);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.pa.metrics;
+
+import java.util.Map;
+
+public interface PuzzleMetricsMXBean {
+
+    long getMoveCount();
+
+    long getMergeCount();
+
+    long getMergedFragmentCount();
+
+    long getFinalizationCount();
+
+    long getFinalizedFragmentCount();
+
+    LatencySnapshot getMoveLatency();
+
+    LatencySnapshot getMergeLatency();
+
+    LatencySnapshot getFinalizationLatency();
+
+    LatencySnapshot getReshapeTime();
+
+    LatencySnapshot getReloadTime();
+
+    LatencySnapshot getIconPaintTime();
+
+    Map<String, LatencySnapshot> getGenerationStageTimes();
+
+    void reset();
+
+}
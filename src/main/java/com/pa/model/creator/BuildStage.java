@@ -0,0 +1,21 @@
+package com.pa.model.creator;
+
+public enum BuildStage {
+
+    DECODING("Decoding image"),
+    RESIZING("Resizing image"),
+    EDGES("Generating edges"),
+    OUTLINES("Building piece outlines"),
+    FRAGMENTS("Creating fragments");
+
+    private final String description;
+
+    BuildStage(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
@@ -2,17 +2,23 @@ package com.pa.model.creator;
 
 import com.gutil.gui.ImageUtil;
 import com.gutil.gui.ResizeQuality;
+import com.pa.metrics.PuzzleMetrics;
 import com.pa.model.creator.factory.PieceShape;
 import com.pa.model.creator.factory.PuzzleFactory;
 import com.pa.model.game.Game;
 import com.pa.model.puzzle.PuzzleData;
 
 import java.awt.Image;
-import java.awt.Point;
+import java.io.File;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public class GameCreator {
 
     private Image image;
+    private File imageFile;
 
     private int rows;
     private int columns;
@@ -22,6 +28,14 @@ public class GameCreator {
 
     private PieceShape pieceShape;
 
+    private Long seed;
+
+    private Consumer<BuildStage> progressListener = stage -> {};
+    private BooleanSupplier cancellationCheck = () -> false;
+
+    private BuildStage currentStage;
+    private long currentStageStart;
+
     public void setRows(int rows) {
         this.rows = rows;
     }
@@ -36,21 +50,43 @@ public class GameCreator {
 
     public void setImage(Image image) {
         this.image = image;
+        this.imageFile = null;
+    }
+
+    public void setImageFile(File imageFile) {
+        this.imageFile = imageFile;
+        this.image = null;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public void setProgressListener(Consumer<BuildStage> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public void setCancellationCheck(BooleanSupplier cancellationCheck) {
+        this.cancellationCheck = cancellationCheck;
     }
 
     public Game buildGame() {
         if (validateGameParameters()) {
-            return new Game(generatePuzzleData());
+            return new Game(generatePuzzleData(), pieceShape);
         }
         throw new IllegalStateException("Cannot create the game - incorrect parameters.");
     }
 
     private boolean validateGameParameters() {
-        return image != null && rows >= 1 && columns >= 1 && rows * columns > 1;
+        return (image != null || imageFile != null) && rows >= 1 && columns >= 1 && rows * columns > 1;
     }
 
     public PuzzleData generatePuzzleData() {
+        currentStage = null;
+        reportStage(BuildStage.DECODING);
+        Image image = this.image != null || imageFile == null ? this.image : ImageUtil.readImage(imageFile);
         if (image != null && (puzzleWidth > 0 || puzzleHeight > 0)) {
+            reportStage(BuildStage.RESIZING);
             int targetHeight = 0;
             int targetWidth = 0;
             double puzzleProportion = image.getWidth(null) / (double) image.getHeight(null);
@@ -66,8 +102,38 @@ public class GameCreator {
             image = ImageUtil.resize(image, targetWidth, targetHeight, ResizeQuality.HIGH);
         }
 
+        checkCancelled();
         PuzzleFactory factory = PuzzleFactory.getFactory(pieceShape);
-        return factory.generatePuzzle(rows, columns, image);
+        factory.setProgressListener(this::startStage);
+        factory.setCancellationCheck(cancellationCheck);
+        PuzzleData puzzleData = factory.generatePuzzle(rows, columns, image, seed != null ? seed : new SplittableRandom().nextLong());
+        finishStage();
+        return puzzleData;
+    }
+
+    private void reportStage(BuildStage stage) {
+        checkCancelled();
+        startStage(stage);
+    }
+
+    private void startStage(BuildStage stage) {
+        finishStage();
+        currentStage = stage;
+        currentStageStart = System.nanoTime();
+        progressListener.accept(stage);
+    }
+
+    private void finishStage() {
+        if (currentStage != null) {
+            PuzzleMetrics.getInstance().recordGenerationStage(currentStage, System.nanoTime() - currentStageStart);
+            currentStage = null;
+        }
+    }
+
+    private void checkCancelled() {
+        if (cancellationCheck.getAsBoolean()) {
+            throw new CancellationException("Game building was cancelled.");
+        }
     }
 
     public void setMaxPuzzleWidth(int width) {
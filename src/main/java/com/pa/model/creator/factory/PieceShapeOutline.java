@@ -1,14 +1,16 @@
 package com.pa.model.creator.factory;
 
+import com.pa.model.puzzle.PieceEdge;
+
 import java.awt.Shape;
 import java.awt.geom.Path2D;
 
 public class PieceShapeOutline {
 
-    private Path2D north;
-    private Path2D east;
-    private Path2D south;
-    private Path2D west;
+    private PieceEdge north;
+    private PieceEdge east;
+    private PieceEdge south;
+    private PieceEdge west;
 
     private final boolean inverseDirection;
 
@@ -16,38 +18,42 @@ public class PieceShapeOutline {
         this.inverseDirection = inverseDirection;
     }
 
-    public void setNorth(Path2D north) {
+    public void setNorth(PieceEdge north) {
         this.north = north;
     }
 
-    public void setEast(Path2D east) {
+    public void setEast(PieceEdge east) {
         this.east = east;
     }
 
-    public void setSouth(Path2D south) {
+    public void setSouth(PieceEdge south) {
         this.south = south;
     }
 
-    public void setWest(Path2D west) {
+    public void setWest(PieceEdge west) {
         this.west = west;
     }
 
     public Shape createShape() {
         Path2D result = new Path2D.Double();
         if (inverseDirection) {
-            result.append(west, true);
-            result.append(south, true);
-            result.append(east, true);
-            result.append(north, true);
+            result.append(west.getPath(), true);
+            result.append(south.getPath(), true);
+            result.append(east.getPath(), true);
+            result.append(north.getPath(), true);
         } else {
-            result.append(north, true);
-            result.append(east, true);
-            result.append(south, true);
-            result.append(west, true);
+            result.append(north.getPath(), true);
+            result.append(east.getPath(), true);
+            result.append(south.getPath(), true);
+            result.append(west.getPath(), true);
         }
 
         result.closePath();
         return result;
     }
 
+    public PieceEdge[] getEdges() {
+        return new PieceEdge[] {north, east, south, west};
+    }
+
 }
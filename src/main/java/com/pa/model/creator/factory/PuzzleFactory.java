@@ -1,11 +1,20 @@
 package com.pa.model.creator.factory;
 
+import com.pa.model.creator.BuildStage;
 import com.pa.model.puzzle.PuzzleData;
 
 import java.awt.Image;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public abstract class PuzzleFactory {
 
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Consumer<BuildStage> progressListener = stage -> {};
+    private BooleanSupplier cancellationCheck = () -> false;
+
     public static PuzzleFactory getFactory(PieceShape shape) {
         return switch (shape) {
             case RECTANGULAR -> new RectangularPuzzleFactory();
@@ -13,6 +22,41 @@ public abstract class PuzzleFactory {
         };
     }
 
-    public abstract PuzzleData generatePuzzle(int rows, int columns, Image image);
+    public PuzzleData generatePuzzle(int rows, int columns, Image image) {
+        return generatePuzzle(rows, columns, image, new SplittableRandom().nextLong());
+    }
+
+    public abstract PuzzleData generatePuzzle(int rows, int columns, Image image, long seed);
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("Parallelism must be positive, was %s.", parallelism));
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setProgressListener(Consumer<BuildStage> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public void setCancellationCheck(BooleanSupplier cancellationCheck) {
+        this.cancellationCheck = cancellationCheck;
+    }
+
+    protected void reportStage(BuildStage stage) {
+        checkCancelled();
+        progressListener.accept(stage);
+    }
+
+    protected void checkCancelled() {
+        if (cancellationCheck.getAsBoolean()) {
+            throw new CancellationException("Puzzle generation was cancelled.");
+        }
+    }
 
 }
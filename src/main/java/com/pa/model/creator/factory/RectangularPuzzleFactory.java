@@ -2,11 +2,12 @@ package com.pa.model.creator.factory;
 
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.util.random.RandomGenerator;
 
 public class RectangularPuzzleFactory extends RightAngleBasedPuzzleFactory {
 
     @Override
-    protected Path2D generatePuzzlePieceEdge(Point2D start, Point2D end, boolean isFlat) {
+    protected Path2D generatePuzzlePieceEdge(Point2D start, Point2D end, boolean isFlat, RandomGenerator random) {
         Path2D path = new Path2D.Double();
         path.moveTo(start.getX(), start.getY());
 
@@ -1,37 +1,68 @@
 package com.pa.model.creator.factory;
 
-import com.gutil.ArrayUtil;
+import com.pa.model.creator.BuildStage;
+import com.pa.model.puzzle.PieceEdge;
 import com.pa.model.puzzle.PuzzleData;
 import com.pa.model.puzzle.PuzzlePiece;
 
 import java.awt.Image;
 import java.awt.Point;
-import java.awt.Shape;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 public class RightAngleBasedPuzzleFactory extends PuzzleFactory {
 
-    private static final Random random = new Random();
-
     @Override
-    public PuzzleData generatePuzzle(int rows, int columns, Image image) {
+    public PuzzleData generatePuzzle(int rows, int columns, Image image, long seed) {
         int width = image.getWidth(null);
         int height = image.getHeight(null);
 
         Point[][] pointsGrid = generatePointsOnGrid(rows, columns, width, height);
-        Shape[][] pieceShapes = generatePieceAreas(pointsGrid);
 
         PuzzlePiece[][] pieces = new PuzzlePiece[rows][columns];
-        ArrayUtil.setEach(pieces, (row, column) -> new PuzzlePiece(pieceShapes[row][column]));
+        ForkJoinPool pool = new ForkJoinPool(getParallelism());
+        try {
+            reportStage(BuildStage.EDGES);
+            PieceEdge[] edges = new PieceEdge[countEdges(rows, columns)];
+            runInParallel(pool, edges.length, edgeIndex -> edges[edgeIndex] = generateEdge(pointsGrid, edgeIndex, seed));
+
+            reportStage(BuildStage.OUTLINES);
+            runInParallel(pool, rows * columns, ordinal -> {
+                int row = ordinal / columns;
+                int column = ordinal % columns;
+                PieceShapeOutline outline = generatePieceOutline(edges, row, column, rows, columns);
+                pieces[row][column] = new PuzzlePiece(outline.createShape(), outline.getEdges());
+            });
+        } finally {
+            pool.shutdown();
+        }
 
+        reportStage(BuildStage.FRAGMENTS);
         PuzzleData data = new PuzzleData();
         data.setImage(image);
+        data.setGenerationSeed(seed);
         data.setPieces(pieces);
         return data;
     }
 
+    private void runInParallel(ForkJoinPool pool, int count, IntConsumer task) {
+        IntConsumer cancellableTask = index -> {
+            checkCancelled();
+            task.accept(index);
+        };
+
+        if (pool.getParallelism() == 1) {
+            IntStream.range(0, count).forEach(cancellableTask);
+        } else {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(cancellableTask)).join();
+        }
+    }
+
     protected Point[][] generatePointsOnGrid(int rows, int columns, int width, int height) {
         if (rows >= width) {
             throw new IllegalArgumentException(String.format("Too many rows (%s) for given width (%s).", rows, width));
@@ -61,54 +92,69 @@ public class RightAngleBasedPuzzleFactory extends PuzzleFactory {
         return pointsGrid;
     }
 
-    private Shape[][] generatePieceAreas(Point[][] pointsGrid) {
-        PieceShapeOutline[][] outlines = new PieceShapeOutline[pointsGrid.length - 1][pointsGrid[0].length - 1];
-        ArrayUtil.setEach(outlines, (row, column) -> new PieceShapeOutline((row + column) % 2 == 1));
-
-        for (int i = 0; i < pointsGrid.length; ++i) {
-            for (int j = 0; j < pointsGrid[i].length; ++j) {
-                if (i < pointsGrid.length - 1) {
-                    Point start = pointsGrid[i][j];
-                    Point end = pointsGrid[i + 1][j];
-
-                    Path2D pathVertical = generatePuzzlePieceEdge((i + j) % 2 == 0 ? end : start, (i + j) % 2 == 0 ? start : end, j == 0 || j == pointsGrid[i].length - 1);
-
-                    PieceShapeOutline left = j != 0 ? outlines[i][j - 1] : null;
-                    if (left != null) {
-                        left.setEast(pathVertical);
-                    }
-
-                    PieceShapeOutline right = j != pointsGrid[i].length - 1 ? outlines[i][j] : null;
-                    if (right != null) {
-                        right.setWest(pathVertical);
-                    }
-                }
-
-                if (j < pointsGrid[i].length - 1) {
-                    Point start = pointsGrid[i][j];
-                    Point end = pointsGrid[i][j + 1];
-
-                    Path2D pathHorizontal = generatePuzzlePieceEdge((i + j) % 2 == 0 ? start : end, (i + j) % 2 == 0 ? end :start, i == 0 || i == pointsGrid.length - 1);
-
-                    PieceShapeOutline up = i != 0 ? outlines[i - 1][j] : null;
-                    if (up != null) {
-                        up.setSouth(pathHorizontal);
-                    }
-
-                    PieceShapeOutline down = i != pointsGrid.length - 1 ? outlines[i][j] : null;
-                    if (down != null) {
-                        down.setNorth(pathHorizontal);
-                    }
-                }
-            }
+    private static int countEdges(int rows, int columns) {
+        return countVerticalEdges(rows, columns) + (rows + 1) * columns;
+    }
+
+    private static int countVerticalEdges(int rows, int columns) {
+        return rows * (columns + 1);
+    }
+
+    private static int verticalEdgeIndex(int row, int column, int columns) {
+        return row * (columns + 1) + column;
+    }
+
+    private static int horizontalEdgeIndex(int row, int column, int rows, int columns) {
+        return countVerticalEdges(rows, columns) + row * columns + column;
+    }
+
+    private PieceEdge generateEdge(Point[][] pointsGrid, int edgeIndex, long seed) {
+        int rows = pointsGrid.length - 1;
+        int columns = pointsGrid[0].length - 1;
+        int vertexColumns = columns + 1;
+        RandomGenerator random = new SplittableRandom(mixSeed(seed, edgeIndex));
+
+        int verticalEdges = countVerticalEdges(rows, columns);
+        if (edgeIndex < verticalEdges) {
+            int i = edgeIndex / vertexColumns;
+            int j = edgeIndex % vertexColumns;
+            Point start = pointsGrid[i][j];
+            Point end = pointsGrid[i + 1][j];
+
+            Path2D pathVertical = generatePuzzlePieceEdge((i + j) % 2 == 0 ? end : start, (i + j) % 2 == 0 ? start : end, j == 0 || j == columns, random);
+            int startVertex = i * vertexColumns + j;
+            int endVertex = (i + 1) * vertexColumns + j;
+            return new PieceEdge(pathVertical, (i + j) % 2 == 0 ? endVertex : startVertex, (i + j) % 2 == 0 ? startVertex : endVertex);
         }
 
-        Shape[][] shapes = new Shape[pointsGrid.length - 1][pointsGrid[0].length - 1];
-        ArrayUtil.setEach(shapes, (row, column) -> outlines[row][column].createShape());
-        return shapes;
+        int i = (edgeIndex - verticalEdges) / columns;
+        int j = (edgeIndex - verticalEdges) % columns;
+        Point start = pointsGrid[i][j];
+        Point end = pointsGrid[i][j + 1];
+
+        Path2D pathHorizontal = generatePuzzlePieceEdge((i + j) % 2 == 0 ? start : end, (i + j) % 2 == 0 ? end : start, i == 0 || i == rows, random);
+        int startVertex = i * vertexColumns + j;
+        int endVertex = i * vertexColumns + j + 1;
+        return new PieceEdge(pathHorizontal, (i + j) % 2 == 0 ? startVertex : endVertex, (i + j) % 2 == 0 ? endVertex : startVertex);
+    }
+
+    private static long mixSeed(long seed, int edgeIndex) {
+        long z = seed + (edgeIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static PieceShapeOutline generatePieceOutline(PieceEdge[] edges, int row, int column, int rows, int columns) {
+        PieceShapeOutline outline = new PieceShapeOutline((row + column) % 2 == 1);
+        outline.setNorth(edges[horizontalEdgeIndex(row, column, rows, columns)]);
+        outline.setSouth(edges[horizontalEdgeIndex(row + 1, column, rows, columns)]);
+        outline.setWest(edges[verticalEdgeIndex(row, column, columns)]);
+        outline.setEast(edges[verticalEdgeIndex(row, column + 1, columns)]);
+        return outline;
     }
 
-    protected Path2D generatePuzzlePieceEdge(Point2D start, Point2D end, boolean isFlat) {
+    protected Path2D generatePuzzlePieceEdge(Point2D start, Point2D end, boolean isFlat, RandomGenerator random) {
         Path2D path = new Path2D.Double();
         path.moveTo(start.getX(), start.getY());
 
@@ -1,17 +1,28 @@
 package com.pa.model.game;
 
+import com.pa.model.creator.factory.PieceShape;
 import com.pa.model.puzzle.PuzzleData;
 
 public class Game {
 
     private final PuzzleData puzzleData;
+    private final PieceShape pieceShape;
 
     public Game(PuzzleData puzzleData) {
+        this(puzzleData, null);
+    }
+
+    public Game(PuzzleData puzzleData, PieceShape pieceShape) {
         this.puzzleData = puzzleData;
+        this.pieceShape = pieceShape;
     }
 
     public PuzzleData getPuzzleData() {
         return puzzleData;
     }
 
+    public PieceShape getPieceShape() {
+        return pieceShape;
+    }
+
 }
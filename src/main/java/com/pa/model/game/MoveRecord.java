@@ -0,0 +1,78 @@
+package com.pa.model.game;
+
+import java.awt.Rectangle;
+
+public class MoveRecord {
+
+    private final int fragmentId;
+    private final int x;
+    private final int y;
+    private final MoveResult result;
+    private final long durationNanos;
+    private final long timestampMillis;
+    private final int width;
+    private final int height;
+    private final long seed;
+
+    public MoveRecord(int fragmentId, int x, int y, MoveResult result, long durationNanos, long timestampMillis) {
+        this(fragmentId, x, y, 0, 0, 0, result, durationNanos, timestampMillis);
+    }
+
+    private MoveRecord(int fragmentId, int x, int y, int width, int height, long seed, MoveResult result, long durationNanos, long timestampMillis) {
+        this.fragmentId = fragmentId;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.result = result;
+        this.durationNanos = durationNanos;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public static MoveRecord regularization(Rectangle boardArea, long seed, long durationNanos, long timestampMillis) {
+        return new MoveRecord(-1, boardArea.x, boardArea.y, boardArea.width, boardArea.height, seed, MoveResult.regularized(), durationNanos, timestampMillis);
+    }
+
+    public boolean isRegularization() {
+        return result.getType() == MoveResult.Type.REGULARIZED;
+    }
+
+    public Rectangle getBoardArea() {
+        return new Rectangle(x, y, width, height);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getFragmentId() {
+        return fragmentId;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public MoveResult getResult() {
+        return result;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveRecord{fragment=%d, x=%d, y=%d, result=%s}", fragmentId, x, y, result);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.pa.model.game;
+
+import java.util.Arrays;
+
+public class MoveResult {
+
+    public enum Type {
+        IGNORED,
+        MOVED,
+        MERGED,
+        FINALIZED,
+        REGULARIZED
+    }
+
+    private static final int[] NO_FRAGMENTS = new int[0];
+
+    private final Type type;
+    private final int fragmentId;
+    private final int resultingFragmentId;
+    private final int[] removedFragmentIds;
+
+    public MoveResult(Type type, int fragmentId, int resultingFragmentId, int[] removedFragmentIds) {
+        this.type = type;
+        this.fragmentId = fragmentId;
+        this.resultingFragmentId = resultingFragmentId;
+        this.removedFragmentIds = removedFragmentIds != null ? removedFragmentIds : NO_FRAGMENTS;
+    }
+
+    public static MoveResult ignored(int fragmentId) {
+        return new MoveResult(Type.IGNORED, fragmentId, fragmentId, NO_FRAGMENTS);
+    }
+
+    public static MoveResult moved(int fragmentId) {
+        return new MoveResult(Type.MOVED, fragmentId, fragmentId, NO_FRAGMENTS);
+    }
+
+    public static MoveResult merged(int fragmentId, int[] mergedFragmentIds) {
+        return new MoveResult(Type.MERGED, fragmentId, fragmentId, mergedFragmentIds);
+    }
+
+    public static MoveResult finalized(int fragmentId, int finalizedFragmentId, int[] finalizedFragmentIds) {
+        return new MoveResult(Type.FINALIZED, fragmentId, finalizedFragmentId, finalizedFragmentIds);
+    }
+
+    public static MoveResult regularized() {
+        return new MoveResult(Type.REGULARIZED, -1, -1, NO_FRAGMENTS);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getFragmentId() {
+        return fragmentId;
+    }
+
+    public int getResultingFragmentId() {
+        return resultingFragmentId;
+    }
+
+    public int[] getRemovedFragmentIds() {
+        return removedFragmentIds;
+    }
+
+    public boolean changesFragments() {
+        return type == Type.MERGED || type == Type.FINALIZED;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveResult{type=%s, fragment=%d, resulting=%d, removed=%s}", type, fragmentId, resultingFragmentId, Arrays.toString(removedFragmentIds));
+    }
+
+}
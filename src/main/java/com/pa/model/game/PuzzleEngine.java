@@ -0,0 +1,254 @@
+package com.pa.model.game;
+
+import com.pa.metrics.PuzzleMetrics;
+import com.pa.model.puzzle.PuzzleData;
+import com.pa.model.puzzle.PuzzleFragment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+public class PuzzleEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PuzzleEngine.class);
+
+    private final PuzzleData puzzleData;
+    private int toleranceForJoining;
+    private final List<Consumer<MoveRecord>> moveListeners;
+
+    // Scratch state reused by every (synchronized) move so that snap detection does not allocate.
+    private final BitSet checkedFragmentIds;
+    private final BitSet queuedOrdinals;
+    private int[] worklist;
+    private int worklistSize;
+    private int[] changedFragmentIds;
+    private int changedCount;
+
+    public PuzzleEngine(PuzzleData puzzleData) {
+        this.puzzleData = puzzleData;
+        this.toleranceForJoining = 10;
+        this.moveListeners = new CopyOnWriteArrayList<>();
+        this.checkedFragmentIds = new BitSet();
+        this.queuedOrdinals = new BitSet();
+        this.worklist = new int[16];
+        this.changedFragmentIds = new int[4];
+    }
+
+    public PuzzleData getPuzzleData() {
+        return puzzleData;
+    }
+
+    public void setToleranceForJoining(int tolerance) {
+        this.toleranceForJoining = tolerance;
+    }
+
+    public int getToleranceForJoining() {
+        return toleranceForJoining;
+    }
+
+    public void addMoveListener(Consumer<MoveRecord> listener) {
+        moveListeners.add(listener);
+    }
+
+    public void removeMoveListener(Consumer<MoveRecord> listener) {
+        moveListeners.remove(listener);
+    }
+
+    public boolean isSolved() {
+        return puzzleData.countFinalizedPieces() == puzzleData.countPieces();
+    }
+
+    public synchronized MoveResult moveFragment(int fragmentId, int x, int y) {
+        long start = System.nanoTime();
+        MoveResult result = applyMove(fragmentId, x, y);
+        long duration = System.nanoTime() - start;
+        recordMetrics(result, duration);
+        if (result.getType() != MoveResult.Type.IGNORED && !moveListeners.isEmpty()) {
+            notifyMoveListeners(new MoveRecord(fragmentId, x, y, result, duration, System.currentTimeMillis()));
+        }
+
+        return result;
+    }
+
+    public MoveResult regularizePieces(Rectangle boardArea) {
+        return regularizePieces(boardArea, ThreadLocalRandom.current().nextLong());
+    }
+
+    // Regularizing moves every loose piece, so it goes through the same lock and listeners as a move. The seed makes the
+    // shuffle reproducible when a journal or a recorded session is replayed.
+    public synchronized MoveResult regularizePieces(Rectangle boardArea, long seed) {
+        long start = System.nanoTime();
+        puzzleData.regularizePieces(boardArea, seed);
+        if (!moveListeners.isEmpty()) {
+            notifyMoveListeners(MoveRecord.regularization(boardArea, seed, System.nanoTime() - start, System.currentTimeMillis()));
+        }
+
+        return MoveResult.regularized();
+    }
+
+    public MoveResult replay(MoveRecord record) {
+        if (record.isRegularization()) {
+            return regularizePieces(record.getBoardArea(), record.getSeed());
+        }
+
+        return moveFragment(record.getFragmentId(), record.getX(), record.getY());
+    }
+
+    private void notifyMoveListeners(MoveRecord record) {
+        for (Consumer<MoveRecord> listener : moveListeners) {
+            listener.accept(record);
+        }
+    }
+
+    private static void recordMetrics(MoveResult result, long duration) {
+        PuzzleMetrics metrics = PuzzleMetrics.getInstance();
+        switch (result.getType()) {
+            case MOVED -> metrics.recordMove(duration);
+            case MERGED -> {
+                metrics.recordMove(duration);
+                metrics.recordMerge(result.getRemovedFragmentIds().length, duration);
+            }
+            case FINALIZED -> {
+                metrics.recordMove(duration);
+                metrics.recordFinalization(result.getRemovedFragmentIds().length, duration);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private MoveResult applyMove(int fragmentId, int x, int y) {
+        PuzzleFragment fragment = puzzleData.getFragment(fragmentId);
+        if (fragment == null || fragment.isFinalized() || fragment.countPieces() == 0) {
+            return MoveResult.ignored(fragmentId);
+        }
+
+        puzzleData.updatePosition(fragment, x, y);
+        checkedFragmentIds.clear();
+        queuedOrdinals.clear();
+        worklistSize = 0;
+        changedCount = 0;
+
+        if (canMovedFragmentBeFinalized(fragment)) {
+            resolveFinalizations(fragment);
+            LOG.debug("Currently {} pieces are finalized.", puzzleData.countFinalizedPieces());
+            return MoveResult.finalized(fragmentId, puzzleData.getFinalizedFragment().getId(), Arrays.copyOf(changedFragmentIds, changedCount));
+        }
+
+        resolveMerges(fragment);
+        return changedCount == 0 ? MoveResult.moved(fragmentId) : MoveResult.merged(fragmentId, Arrays.copyOf(changedFragmentIds, changedCount));
+    }
+
+    // Fragments are rigid, so whether two fragments join depends only on their translations. A neighbour that does not fit
+    // the moved fragment will not fit it later either, which is why every fragment and every border ordinal is visited once.
+    private void resolveMerges(PuzzleFragment fragment) {
+        enqueueBorder(fragment, fragment);
+        for (int index = 0; index < worklistSize; ++index) {
+            int neighbourOrdinal = worklist[index];
+            PuzzleFragment neighbourFragment = puzzleData.getFragmentOwningPiece(neighbourOrdinal);
+
+            if (neighbourFragment == null || neighbourFragment.equals(fragment) || neighbourFragment.isFinalized() || !markChecked(neighbourFragment)) {
+                continue;
+            }
+
+            if (fitsNeighbour(fragment, neighbourFragment, neighbourOrdinal)) {
+                enqueueBorder(neighbourFragment, fragment);
+                recordChange(neighbourFragment);
+                puzzleData.mergeFragments(fragment, neighbourFragment);
+            }
+        }
+    }
+
+    private void resolveFinalizations(PuzzleFragment fragment) {
+        PuzzleFragment finalizedFragment = puzzleData.getFinalizedFragment();
+        enqueueBorder(fragment, finalizedFragment);
+        markChecked(fragment);
+        recordChange(fragment);
+        puzzleData.finalize(fragment);
+
+        for (int index = 0; index < worklistSize; ++index) {
+            PuzzleFragment neighbourFragment = puzzleData.getFragmentOwningPiece(worklist[index]);
+            if (neighbourFragment == null || neighbourFragment.isFinalized() || !markChecked(neighbourFragment)) {
+                continue;
+            }
+
+            if (canMovedFragmentBeFinalized(neighbourFragment)) {
+                enqueueBorder(neighbourFragment, finalizedFragment);
+                recordChange(neighbourFragment);
+                puzzleData.finalize(neighbourFragment);
+            }
+        }
+    }
+
+    private void enqueueBorder(PuzzleFragment source, PuzzleFragment target) {
+        for (int ordinal = source.nextBorderingPieceOrdinal(0); ordinal >= 0; ordinal = source.nextBorderingPieceOrdinal(ordinal + 1)) {
+            if (target.hasPiece(ordinal) || queuedOrdinals.get(ordinal)) {
+                continue;
+            }
+
+            if (worklistSize == worklist.length) {
+                worklist = Arrays.copyOf(worklist, worklistSize * 2);
+            }
+
+            queuedOrdinals.set(ordinal);
+            worklist[worklistSize++] = ordinal;
+        }
+    }
+
+    private void recordChange(PuzzleFragment changedFragment) {
+        if (changedCount == changedFragmentIds.length) {
+            changedFragmentIds = Arrays.copyOf(changedFragmentIds, changedCount * 2);
+        }
+
+        changedFragmentIds[changedCount++] = changedFragment.getId();
+    }
+
+    private boolean markChecked(PuzzleFragment neighbourFragment) {
+        int id = neighbourFragment.getId();
+        if (id < 0) {
+            return true;
+        }
+
+        if (checkedFragmentIds.get(id)) {
+            return false;
+        }
+
+        checkedFragmentIds.set(id);
+        return true;
+    }
+
+    private boolean fitsNeighbour(PuzzleFragment fragment, PuzzleFragment neighbourFragment, int neighbourOrdinal) {
+        // Pieces are rigid inside a fragment, so a piece's position is its solved corner plus the fragment translation.
+        int neighbourX = puzzleData.getSolvedPieceX(neighbourOrdinal) + neighbourFragment.getTranslationX();
+        int neighbourY = puzzleData.getSolvedPieceY(neighbourOrdinal) + neighbourFragment.getTranslationY();
+
+        for (int edge = puzzleData.getAdjacencyStart(neighbourOrdinal); edge < puzzleData.getAdjacencyEnd(neighbourOrdinal); ++edge) {
+            int possibleOrdinal = puzzleData.getAdjacentOrdinal(edge);
+            if (!fragment.hasPiece(possibleOrdinal)) {
+                continue;
+            }
+
+            int actualDiffX = puzzleData.getSolvedPieceX(possibleOrdinal) + fragment.getTranslationX() - neighbourX;
+            int actualDiffY = puzzleData.getSolvedPieceY(possibleOrdinal) + fragment.getTranslationY() - neighbourY;
+            if (Math.abs(actualDiffX - puzzleData.getAdjacentOffsetX(edge)) <= toleranceForJoining
+                    && Math.abs(actualDiffY - puzzleData.getAdjacentOffsetY(edge)) <= toleranceForJoining) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean canMovedFragmentBeFinalized(PuzzleFragment fragment) {
+        return fragment.countPieces() > 0
+                && Math.abs(fragment.getTranslationX()) <= toleranceForJoining
+                && Math.abs(fragment.getTranslationY()) <= toleranceForJoining;
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.pa.model.puzzle;
+
+import com.pa.metrics.PuzzleMetrics;
+
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class FragmentOutline {
+
+    private final Set<PieceEdge> outlineEdges;
+    private final List<Shape> edgelessShapes;
+    private Shape shape;
+
+    FragmentOutline() {
+        outlineEdges = new LinkedHashSet<>();
+        edgelessShapes = new ArrayList<>();
+    }
+
+    void add(PuzzlePiece piece) {
+        PieceEdge[] edges = piece.getEdges();
+        if (edges == null) {
+            edgelessShapes.add(piece.getShape());
+        } else {
+            for (PieceEdge edge : edges) {
+                // A piece edge is shared by at most two pieces, so the second occurrence cancels the first.
+                if (!outlineEdges.remove(edge)) {
+                    outlineEdges.add(edge);
+                }
+            }
+        }
+
+        shape = null;
+    }
+
+    void add(FragmentOutline other) {
+        for (PieceEdge edge : other.outlineEdges) {
+            if (!outlineEdges.remove(edge)) {
+                outlineEdges.add(edge);
+            }
+        }
+        edgelessShapes.addAll(other.edgelessShapes);
+
+        shape = null;
+    }
+
+    void clear() {
+        outlineEdges.clear();
+        edgelessShapes.clear();
+        shape = null;
+    }
+
+    Shape getShape() {
+        if (shape == null) {
+            long start = System.nanoTime();
+            shape = buildShape();
+            PuzzleMetrics.getInstance().recordReshape(System.nanoTime() - start);
+        }
+
+        return shape;
+    }
+
+    private Shape buildShape() {
+        Path2D path = traceLoops();
+        if (edgelessShapes.isEmpty()) {
+            return path;
+        }
+
+        Area area = new Area(path);
+        for (Shape edgelessShape : edgelessShapes) {
+            area.add(new Area(edgelessShape));
+        }
+
+        return area;
+    }
+
+    private Path2D traceLoops() {
+        Path2D path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+
+        Map<Integer, List<PieceEdge>> edgesByVertex = new HashMap<>();
+        for (PieceEdge edge : outlineEdges) {
+            edgesByVertex.computeIfAbsent(edge.getStartVertex(), v -> new ArrayList<>(2)).add(edge);
+            edgesByVertex.computeIfAbsent(edge.getEndVertex(), v -> new ArrayList<>(2)).add(edge);
+        }
+
+        Set<PieceEdge> remaining = new LinkedHashSet<>(outlineEdges);
+        while (!remaining.isEmpty()) {
+            PieceEdge edge = remaining.iterator().next();
+            int loopStart = edge.getStartVertex();
+            int vertex = loopStart;
+            path.moveTo(edge.getStartX(false), edge.getStartY(false));
+
+            while (edge != null) {
+                remaining.remove(edge);
+                boolean reversed = edge.getStartVertex() != vertex;
+                edge.appendTo(path, reversed);
+                vertex = reversed ? edge.getStartVertex() : edge.getEndVertex();
+
+                edge = vertex != loopStart ? nextEdge(edgesByVertex.get(vertex), remaining) : null;
+            }
+
+            path.closePath();
+        }
+
+        return path;
+    }
+
+    private static PieceEdge nextEdge(List<PieceEdge> candidates, Set<PieceEdge> remaining) {
+        if (candidates != null) {
+            for (PieceEdge candidate : candidates) {
+                if (remaining.contains(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.pa.model.puzzle;
+
+class FragmentOwnershipIndex {
+
+    private final int[] parents;
+    private final byte[] ranks;
+    private final PuzzleFragment[] owners;
+
+    FragmentOwnershipIndex(int size) {
+        parents = new int[size];
+        ranks = new byte[size];
+        owners = new PuzzleFragment[size];
+        for (int i = 0; i < size; ++i) {
+            parents[i] = i;
+        }
+    }
+
+    void assign(int ordinal, PuzzleFragment fragment) {
+        owners[find(ordinal)] = fragment;
+    }
+
+    int find(int ordinal) {
+        while (parents[ordinal] != ordinal) {
+            parents[ordinal] = parents[parents[ordinal]];
+            ordinal = parents[ordinal];
+        }
+
+        return ordinal;
+    }
+
+    void union(int firstOrdinal, int secondOrdinal, PuzzleFragment owner) {
+        int firstRoot = find(firstOrdinal);
+        int secondRoot = find(secondOrdinal);
+        if (firstRoot == secondRoot) {
+            owners[firstRoot] = owner;
+            return;
+        }
+
+        int root;
+        if (ranks[firstRoot] < ranks[secondRoot]) {
+            parents[firstRoot] = secondRoot;
+            root = secondRoot;
+        } else {
+            parents[secondRoot] = firstRoot;
+            if (ranks[firstRoot] == ranks[secondRoot]) {
+                ranks[firstRoot]++;
+            }
+            root = firstRoot;
+        }
+
+        owners[firstRoot] = null;
+        owners[secondRoot] = null;
+        owners[root] = owner;
+    }
+
+    PuzzleFragment getOwner(int ordinal) {
+        return ordinal >= 0 && ordinal < parents.length ? owners[find(ordinal)] : null;
+    }
+
+    void release(int ordinal, PuzzleFragment fragment) {
+        int root = find(ordinal);
+        if (fragment.equals(owners[root])) {
+            owners[root] = null;
+        }
+    }
+
+}
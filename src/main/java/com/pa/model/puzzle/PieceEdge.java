@@ -0,0 +1,75 @@
+package com.pa.model.puzzle;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+public class PieceEdge {
+
+    private final Path2D path;
+    private final int startVertex;
+    private final int endVertex;
+    private final double[] coordinates;
+
+    public PieceEdge(Path2D path, int startVertex, int endVertex) {
+        this.path = path;
+        this.startVertex = startVertex;
+        this.endVertex = endVertex;
+        this.coordinates = flatten(path);
+    }
+
+    private static double[] flatten(Path2D path) {
+        double[] result = new double[16];
+        int length = 0;
+
+        double[] segment = new double[6];
+        for (PathIterator iterator = path.getPathIterator(null, 0.5); !iterator.isDone(); iterator.next()) {
+            int type = iterator.currentSegment(segment);
+            if (type == PathIterator.SEG_CLOSE) {
+                continue;
+            }
+
+            if (length + 2 > result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[length++] = segment[0];
+            result[length++] = segment[1];
+        }
+
+        return Arrays.copyOf(result, length);
+    }
+
+    public Path2D getPath() {
+        return path;
+    }
+
+    public int getStartVertex() {
+        return startVertex;
+    }
+
+    public int getEndVertex() {
+        return endVertex;
+    }
+
+    public void appendTo(Path2D target, boolean reversed) {
+        int points = coordinates.length / 2;
+        for (int i = 1; i < points; ++i) {
+            int index = reversed ? points - 1 - i : i;
+            target.lineTo(coordinates[2 * index], coordinates[2 * index + 1]);
+        }
+    }
+
+    public double getStartX(boolean reversed) {
+        return reversed ? coordinates[coordinates.length - 2] : coordinates[0];
+    }
+
+    public double getStartY(boolean reversed) {
+        return reversed ? coordinates[coordinates.length - 1] : coordinates[1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PieceEdge{%d->%d}", startVertex, endVertex);
+    }
+
+}
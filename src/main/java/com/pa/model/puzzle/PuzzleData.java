@@ -9,25 +9,43 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class PuzzleData {
 
     private static final Logger LOG = LoggerFactory.getLogger(PuzzleData.class);
 
     private Image image;
+    private long generationSeed;
     private PuzzlePiece[][] pieces;
     private PuzzleFragment finalizedPuzzle;
     private final List<PuzzleFragment> fragments;
-    private final Map<Integer, Point> currentPositions;
+    private PuzzleFragment[] fragmentsById;
+    private int[] solvedX;
+    private int[] solvedY;
+    private int[] solvedWidth;
+    private int[] solvedHeight;
+    private int[] adjacencyStart;
+    private int[] adjacentOrdinals;
+    private int[] adjacentOffsetX;
+    private int[] adjacentOffsetY;
+    private FragmentOwnershipIndex ownershipIndex;
 
     public PuzzleData() {
-        this.currentPositions = new HashMap<>();
+        this.solvedX = new int[0];
+        this.solvedY = new int[0];
+        this.solvedWidth = new int[0];
+        this.solvedHeight = new int[0];
+        this.adjacencyStart = new int[1];
+        this.adjacentOrdinals = new int[0];
+        this.adjacentOffsetX = new int[0];
+        this.adjacentOffsetY = new int[0];
         this.fragments = new CopyOnWriteArrayList<>();
+        this.fragmentsById = new PuzzleFragment[0];
     }
 
     public void setImage(Image image) {
@@ -38,12 +56,27 @@ public class PuzzleData {
         return image;
     }
 
+    public void setGenerationSeed(long generationSeed) {
+        this.generationSeed = generationSeed;
+    }
+
+    public long getGenerationSeed() {
+        return generationSeed;
+    }
+
     public void setPieces(PuzzlePiece[][] pieces) {
         this.pieces = pieces;
-        currentPositions.clear();
+        solvedX = new int[countPieces()];
+        solvedY = new int[countPieces()];
+        solvedWidth = new int[countPieces()];
+        solvedHeight = new int[countPieces()];
+        fragments.clear();
+        fragmentsById = new PuzzleFragment[countPieces()];
+        ownershipIndex = new FragmentOwnershipIndex(countPieces());
         finalizedPuzzle = new PuzzleFragment(-1);
         finalizedPuzzle.markAsFinalized();
 
+        List<PuzzleFragment> initialFragments = new ArrayList<>(countPieces());
         int numberOfColumns = -1;
         for (int row = 0; row < pieces.length; ++row) {
             if (row == 0) {
@@ -55,27 +88,88 @@ public class PuzzleData {
             }
 
             for (int column = 0; column < pieces[row].length; ++column) {
-                PuzzlePiece piece = pieces[row][column];
-                initializePieceData(piece, row, column);
+                initializePieceData(pieces[row][column], row, column);
+            }
+        }
 
+        buildAdjacencyTable();
+
+        for (int row = 0; row < pieces.length; ++row) {
+            for (int column = 0; column < pieces[row].length; ++column) {
+                PuzzlePiece piece = pieces[row][column];
                 PuzzleFragment fragment = new PuzzleFragment(countOrdinal(row, column));
                 fragment.addPiece(piece);
-                fragments.add(fragment);
+                initialFragments.add(fragment);
+                fragmentsById[piece.getOrdinal()] = fragment;
+                ownershipIndex.assign(piece.getOrdinal(), fragment);
             }
         }
+
+        // Copy-on-write list - adding fragments one by one would copy the whole array for every piece.
+        fragments.addAll(initialFragments);
     }
 
     private void initializePieceData(PuzzlePiece piece, int row, int column) {
         int ordinal = countOrdinal(row, column);
         piece.setOrdinal(ordinal);
-        currentPositions.put(ordinal, piece.getNWCorner());
 
-        List<Integer> neighbours = new ArrayList<>();
-        if (row != 0) neighbours.add(countOrdinal(row - 1, column));
-        if (row != countRows() - 1) neighbours.add(countOrdinal(row + 1, column));
-        if (column != 0) neighbours.add(countOrdinal(row, column - 1));
-        if (column != countColumns() - 1) neighbours.add(countOrdinal(row, column + 1));
-        piece.setNeighbouringOrdinals(neighbours.stream().mapToInt(n -> n).toArray());
+        Rectangle bounds = piece.getBounds();
+        solvedX[ordinal] = bounds.x;
+        solvedY[ordinal] = bounds.y;
+        solvedWidth[ordinal] = bounds.width;
+        solvedHeight[ordinal] = bounds.height;
+    }
+
+    private void buildAdjacencyTable() {
+        int rows = countRows();
+        int columns = countColumns();
+        int edgeCount = 2 * (rows * (columns - 1) + columns * (rows - 1));
+        adjacencyStart = new int[countPieces() + 1];
+        adjacentOrdinals = new int[edgeCount];
+        adjacentOffsetX = new int[edgeCount];
+        adjacentOffsetY = new int[edgeCount];
+
+        int edge = 0;
+        for (int row = 0; row < rows; ++row) {
+            for (int column = 0; column < columns; ++column) {
+                int ordinal = countOrdinal(row, column);
+                adjacencyStart[ordinal] = edge;
+                if (row != 0) edge = addAdjacency(edge, ordinal, countOrdinal(row - 1, column));
+                if (row != rows - 1) edge = addAdjacency(edge, ordinal, countOrdinal(row + 1, column));
+                if (column != 0) edge = addAdjacency(edge, ordinal, countOrdinal(row, column - 1));
+                if (column != columns - 1) edge = addAdjacency(edge, ordinal, countOrdinal(row, column + 1));
+                pieces[row][column].setNeighbouringOrdinals(Arrays.copyOfRange(adjacentOrdinals, adjacencyStart[ordinal], edge));
+            }
+        }
+
+        adjacencyStart[countPieces()] = edge;
+    }
+
+    private int addAdjacency(int edge, int ordinal, int neighbourOrdinal) {
+        adjacentOrdinals[edge] = neighbourOrdinal;
+        adjacentOffsetX[edge] = solvedX[neighbourOrdinal] - solvedX[ordinal];
+        adjacentOffsetY[edge] = solvedY[neighbourOrdinal] - solvedY[ordinal];
+        return edge + 1;
+    }
+
+    public int getAdjacencyStart(int ordinal) {
+        return adjacencyStart[ordinal];
+    }
+
+    public int getAdjacencyEnd(int ordinal) {
+        return adjacencyStart[ordinal + 1];
+    }
+
+    public int getAdjacentOrdinal(int edge) {
+        return adjacentOrdinals[edge];
+    }
+
+    public int getAdjacentOffsetX(int edge) {
+        return adjacentOffsetX[edge];
+    }
+
+    public int getAdjacentOffsetY(int edge) {
+        return adjacentOffsetY[edge];
     }
 
     public int countOrdinal(int row, int column) {
@@ -94,47 +188,78 @@ public class PuzzleData {
     }
 
     public void setPiecePosition(int pieceOrdinal, int x, int y) {
-        currentPositions.put(pieceOrdinal, new Point(x, y));
-        LOG.debug("Position of piece {} changed to {}x{}.", pieceOrdinal, x, y);
+        PuzzleFragment fragment = getFragmentOwningPiece(pieceOrdinal);
+        if (fragment != null && !fragment.isFinalized()) {
+            fragment.setTranslation(x - solvedX[pieceOrdinal], y - solvedY[pieceOrdinal]);
+            LOG.debug("Position of piece {} changed to {}x{}.", pieceOrdinal, x, y);
+        }
     }
 
     public Point getPiecePosition(int ordinal) {
-        return currentPositions.get(ordinal);
+        return ordinal >= 0 && ordinal < solvedX.length ? new Point(getPieceX(ordinal), getPieceY(ordinal)) : null;
     }
 
-    public void updatePosition(PuzzleFragment fragment, Point newPosition) {
-        PuzzlePiece[] pieces = fragment.getPieces();
-        Point fragmentNWCorner = new Point(fragment.getShape().getBounds().x, fragment.getShape().getBounds().y);
+    public int getPieceX(int ordinal) {
+        PuzzleFragment fragment = getFragmentOwningPiece(ordinal);
+        return solvedX[ordinal] + (fragment != null ? fragment.getTranslationX() : 0);
+    }
 
-        Point moveDiff = new Point(newPosition.x - fragmentNWCorner.x, newPosition.y - fragmentNWCorner.y);
-        for (PuzzlePiece piece : pieces) {
-            Point pieceNWCorner = piece.getNWCorner();
-            Point innerDiff = new Point(pieceNWCorner.x - fragmentNWCorner.x, pieceNWCorner.y - fragmentNWCorner.y);
+    public int getPieceY(int ordinal) {
+        PuzzleFragment fragment = getFragmentOwningPiece(ordinal);
+        return solvedY[ordinal] + (fragment != null ? fragment.getTranslationY() : 0);
+    }
 
-            Point updatedPosition = new Point(fragmentNWCorner.x + innerDiff.x + moveDiff.x, fragmentNWCorner.y + innerDiff.y + moveDiff.y);
-            setPiecePosition(piece.getOrdinal(), updatedPosition.x , updatedPosition.y);
-        }
+    public int getSolvedPieceX(int ordinal) {
+        return solvedX[ordinal];
     }
 
-    public void mergeFragments(PuzzleFragment mainFragment, PuzzleFragment fragmentToBeMerged) {
-        if (Objects.equals(mainFragment, fragmentToBeMerged)) {
+    public int getSolvedPieceY(int ordinal) {
+        return solvedY[ordinal];
+    }
+
+    public int getSolvedPieceWidth(int ordinal) {
+        return solvedWidth[ordinal];
+    }
+
+    public int getSolvedPieceHeight(int ordinal) {
+        return solvedHeight[ordinal];
+    }
+
+    public void updatePosition(PuzzleFragment fragment, Point newPosition) {
+        updatePosition(fragment, newPosition.x, newPosition.y);
+    }
+
+    public void updatePosition(PuzzleFragment fragment, int x, int y) {
+        if (fragment.isFinalized()) {
             return;
         }
 
-        for (PuzzlePiece piece : fragmentToBeMerged.getPieces()) {
-            mainFragment.addPiece(piece);
+        fragment.moveTo(x, y);
+        LOG.debug("Position of fragment {} changed to {}x{}.", fragment, x, y);
+    }
+
+    public void mergeFragments(PuzzleFragment mainFragment, PuzzleFragment fragmentToBeMerged) {
+        if (Objects.equals(mainFragment, fragmentToBeMerged) || fragmentToBeMerged.countPieces() == 0) {
+            return;
         }
 
+        mainFragment.addFragment(fragmentToBeMerged);
+        ownershipIndex.union(mainFragment.getRepresentativeOrdinal(), fragmentToBeMerged.getRepresentativeOrdinal(), mainFragment);
         LOG.debug("Fragment {} with {} piece(-s) was merged into {}.", fragmentToBeMerged, fragmentToBeMerged.countPieces(), mainFragment);
         removeFragment(fragmentToBeMerged);
-
-        Point fragmentPosition = getFragmentPosition(mainFragment);
-        updatePosition(mainFragment, fragmentPosition);
     }
 
     public void removeFragment(PuzzleFragment fragment) {
+        if (fragment.getRepresentativeOrdinal() >= 0) {
+            ownershipIndex.release(fragment.getRepresentativeOrdinal(), fragment);
+        }
+
         fragment.removeAllPieces();
         fragments.remove(fragment);
+        if (fragment.getId() >= 0 && fragment.getId() < fragmentsById.length && fragment.equals(fragmentsById[fragment.getId()])) {
+            fragmentsById[fragment.getId()] = null;
+        }
+
         LOG.debug("Puzzle fragment {} removed from data.", fragment);
     }
 
@@ -147,19 +272,28 @@ public class PuzzleData {
         return result;
     }
 
-    public PuzzleFragment getFragmentOwningPiece(PuzzlePiece piece) {
-        if (finalizedPuzzle.hasPiece(piece)) {
+    public PuzzleFragment getFinalizedFragment() {
+        return finalizedPuzzle;
+    }
+
+    public PuzzleFragment getFragment(int id) {
+        if (finalizedPuzzle != null && id == finalizedPuzzle.getId()) {
             return finalizedPuzzle;
         }
 
-        return fragments.stream().filter(fr -> fr.hasPiece(piece)).findAny().orElse(null);
+        return id >= 0 && id < fragmentsById.length ? fragmentsById[id] : null;
+    }
+
+    public PuzzleFragment getFragmentOwningPiece(PuzzlePiece piece) {
+        return piece != null ? getFragmentOwningPiece(piece.getOrdinal()) : null;
+    }
+
+    public PuzzleFragment getFragmentOwningPiece(int ordinal) {
+        return ownershipIndex != null ? ownershipIndex.getOwner(ordinal) : null;
     }
 
     public Point getFragmentPosition(PuzzleFragment fragment) {
-        PuzzlePiece[] pieces = fragment.getPieces();
-        int x = Arrays.stream(pieces).map(p -> getPiecePosition(p.getOrdinal()).x).mapToInt(n -> n).min().orElse(0);
-        int y = Arrays.stream(pieces).map(p -> getPiecePosition(p.getOrdinal()).y).mapToInt(n -> n).min().orElse(0);
-        return new Point(x, y);
+        return fragment.countPieces() != 0 ? new Point(fragment.getX(), fragment.getY()) : new Point(0, 0);
     }
 
     public int countRows() {
@@ -179,20 +313,27 @@ public class PuzzleData {
     }
 
     public void finalize(PuzzleFragment fragment) {
-        for (PuzzlePiece piece : fragment.getPieces()) {
-            setPiecePosition(piece.getOrdinal(), piece.getNWCorner().x, piece.getNWCorner().y);
-            finalizedPuzzle.addPiece(piece);
-            LOG.debug("Puzzle piece {} finalized.", piece);
+        if (fragment.countPieces() == 0 || fragment.equals(finalizedPuzzle)) {
+            return;
         }
 
+        int fragmentOrdinal = fragment.getRepresentativeOrdinal();
+        finalizedPuzzle.addFragment(fragment);
+        LOG.debug("Puzzle fragment {} with {} piece(-s) finalized.", fragment, fragment.countPieces());
+
+        ownershipIndex.union(finalizedPuzzle.getRepresentativeOrdinal(), fragmentOrdinal, finalizedPuzzle);
         removeFragment(fragment);
     }
 
     public boolean isFinalized(PuzzlePiece piece) {
-        return finalizedPuzzle.hasPiece(piece);
+        return piece != null && finalizedPuzzle.equals(getFragmentOwningPiece(piece.getOrdinal()));
     }
 
     public void regularizePieces(Rectangle boardArea) {
+        regularizePieces(boardArea, ThreadLocalRandom.current().nextLong());
+    }
+
+    public void regularizePieces(Rectangle boardArea, long seed) {
         List<PuzzlePiece> shuffledPieces = new ArrayList<>();
         for (int row = 0; row < countRows(); row++) {
             for (int column = 0; column < countColumns(); column++) {
@@ -203,28 +344,29 @@ public class PuzzleData {
             }
         }
 
-        Collections.shuffle(shuffledPieces);
+        Collections.shuffle(shuffledPieces, new Random(seed));
 
         Rectangle imageRect = new Rectangle(0, 0, image.getWidth(null), image.getHeight(null));
 
         int x = boardArea.x + 5;
         int y = boardArea.y + 5;
         for (PuzzlePiece piece : shuffledPieces) {
-            Rectangle pieceRect = piece.getShape().getBounds();
+            int pieceWidth = solvedWidth[piece.getOrdinal()];
+            int pieceHeight = solvedHeight[piece.getOrdinal()];
 
-            Rectangle pieceArea = new Rectangle(x, y, pieceRect.width, pieceRect.height);
+            Rectangle pieceArea = new Rectangle(x, y, pieceWidth, pieceHeight);
             if (pieceArea.intersects(imageRect)) {
                 x = imageRect.x + imageRect.width + 5;
             }
 
-            currentPositions.put(piece.getOrdinal(), new Point(x, y));
-            x += pieceRect.width + 10;
-            if (x + pieceRect.width > boardArea.x + boardArea.width) {
+            setPiecePosition(piece.getOrdinal(), x, y);
+            x += pieceWidth + 10;
+            if (x + pieceWidth > boardArea.x + boardArea.width) {
                 x = boardArea.x + 5;
-                y += pieceRect.height + 10;
+                y += pieceHeight + 10;
             }
 
-            if (y + pieceRect.height > boardArea.y + boardArea.height) {
+            if (y + pieceHeight > boardArea.y + boardArea.height) {
                 y = boardArea.y + 5;
             }
         }
@@ -246,7 +388,7 @@ public class PuzzleData {
 //                    break;
 //                }
 //                PuzzlePiece piece = shuffledPieces.get(index);
-//                currentPositions.put(piece.getOrdinal(), new Point(x, y));
+//                setPiecePosition(piece.getOrdinal(), x, y);
 //                x += width + standardGap;
 //            }
 //            x = image.getWidth(null) + standardGap;
@@ -3,51 +3,150 @@ package com.pa.model.puzzle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Rectangle;
 import java.awt.Shape;
-import java.awt.geom.Area;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 public class PuzzleFragment {
 
     private static final Logger LOG = LoggerFactory.getLogger(PuzzleFragment.class);
 
     private final int id;
-    private final Set<PuzzlePiece> pieces;
-    private final Set<Integer> neighbouringOrdinals;
-    private Area shape;
+    private final List<PuzzlePiece> pieces;
+    private final BitSet pieceOrdinals;
+    private final BitSet neighbouringOrdinals;
+    private final FragmentOutline outline;
+    private Rectangle bounds;
+    private int translationX;
+    private int translationY;
+    private int representativeOrdinal;
+    private int shapeVersion;
     private boolean isFinalized;
 
     public PuzzleFragment(int id) {
         this.id = id;
-        pieces = new HashSet<>();
-        neighbouringOrdinals = new HashSet<>();
+        pieces = new ArrayList<>();
+        pieceOrdinals = new BitSet();
+        neighbouringOrdinals = new BitSet();
+        outline = new FragmentOutline();
+        representativeOrdinal = -1;
         reshape();
     }
 
     public void reshape() {
-        shape = new Area();
+        outline.clear();
+        bounds = null;
+        shapeVersion++;
         for (PuzzlePiece piece : pieces) {
-            shape.add(new Area(piece.getShape()));
+            extendShape(piece);
+        }
+    }
+
+    private void extendShape(PuzzlePiece piece) {
+        outline.add(piece);
+        shapeVersion++;
+        extendBounds(piece.getBounds());
+    }
+
+    private void extendBounds(Rectangle addedBounds) {
+        if (bounds == null) {
+            bounds = new Rectangle(addedBounds);
+        } else {
+            bounds.add(addedBounds);
         }
     }
 
     public Shape getShape() {
-        return shape;
+        return outline.getShape();
+    }
+
+    public int getShapeVersion() {
+        return shapeVersion;
+    }
+
+    public Rectangle getBounds() {
+        return bounds != null ? new Rectangle(bounds) : new Rectangle();
+    }
+
+    public int getX() {
+        return (bounds != null ? bounds.x : 0) + translationX;
+    }
+
+    public int getY() {
+        return (bounds != null ? bounds.y : 0) + translationY;
+    }
+
+    public void moveTo(int x, int y) {
+        translationX = x - (bounds != null ? bounds.x : 0);
+        translationY = y - (bounds != null ? bounds.y : 0);
+    }
+
+    public int getTranslationX() {
+        return translationX;
+    }
+
+    public int getTranslationY() {
+        return translationY;
+    }
+
+    public void setTranslation(int x, int y) {
+        translationX = x;
+        translationY = y;
+    }
+
+    public int getId() {
+        return id;
     }
 
     public void addPiece(PuzzlePiece piece) {
+        if (pieceOrdinals.get(piece.getOrdinal())) {
+            return;
+        }
+
         pieces.add(piece);
-        neighbouringOrdinals.remove(piece.getOrdinal());
+        pieceOrdinals.set(piece.getOrdinal());
+        if (representativeOrdinal < 0) {
+            representativeOrdinal = piece.getOrdinal();
+        }
+
+        neighbouringOrdinals.clear(piece.getOrdinal());
         for (int newNeighbour : piece.getNeighbouringOrdinals()) {
-            if (!hasPiece(newNeighbour)) {
-                neighbouringOrdinals.add(newNeighbour);
+            if (!pieceOrdinals.get(newNeighbour)) {
+                neighbouringOrdinals.set(newNeighbour);
             }
         }
 
-        LOG.info("Piece {} added to the fragment {}.", piece, this);
-        reshape();
+        LOG.trace("Piece {} added to the fragment {}.", piece, this);
+        extendShape(piece);
+    }
+
+    public void addFragment(PuzzleFragment fragment) {
+        if (fragment == this || fragment.pieces.isEmpty()) {
+            return;
+        }
+
+        if (pieceOrdinals.intersects(fragment.pieceOrdinals)) {
+            for (PuzzlePiece piece : fragment.pieces) {
+                addPiece(piece);
+            }
+            return;
+        }
+
+        pieces.addAll(fragment.pieces);
+        pieceOrdinals.or(fragment.pieceOrdinals);
+        neighbouringOrdinals.or(fragment.neighbouringOrdinals);
+        neighbouringOrdinals.andNot(pieceOrdinals);
+        if (representativeOrdinal < 0) {
+            representativeOrdinal = fragment.representativeOrdinal;
+        }
+
+        LOG.debug("{} piece(-s) of the fragment {} added to the fragment {}.", fragment.countPieces(), fragment, this);
+        outline.add(fragment.outline);
+        shapeVersion++;
+        extendBounds(fragment.bounds);
     }
 
     public PuzzlePiece[] getPieces() {
@@ -55,11 +154,19 @@ public class PuzzleFragment {
     }
 
     public boolean hasPiece(PuzzlePiece piece) {
-        return pieces.contains(piece);
+        return piece != null && hasPiece(piece.getOrdinal());
     }
 
     public boolean hasPiece(int ordinal) {
-        return pieces.stream().mapToInt(PuzzlePiece::getOrdinal).anyMatch(o -> o == ordinal);
+        return ordinal >= 0 && pieceOrdinals.get(ordinal);
+    }
+
+    public int nextPieceOrdinal(int fromOrdinal) {
+        return pieceOrdinals.nextSetBit(fromOrdinal);
+    }
+
+    public int getRepresentativeOrdinal() {
+        return representativeOrdinal;
     }
 
     public int countPieces() {
@@ -68,10 +175,20 @@ public class PuzzleFragment {
 
     public void removeAllPieces() {
         pieces.clear();
+        pieceOrdinals.clear();
+        neighbouringOrdinals.clear();
+        outline.clear();
+        bounds = null;
+        shapeVersion++;
+        representativeOrdinal = -1;
     }
 
     public int[] getBorderingPiecesOrdinals() {
-        return neighbouringOrdinals.stream().mapToInt(n -> n).toArray();
+        return neighbouringOrdinals.stream().toArray();
+    }
+
+    public int nextBorderingPieceOrdinal(int fromOrdinal) {
+        return neighbouringOrdinals.nextSetBit(fromOrdinal);
     }
 
     public void markAsFinalized() {
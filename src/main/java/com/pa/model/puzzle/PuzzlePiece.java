@@ -1,6 +1,7 @@
 package com.pa.model.puzzle;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.Shape;
 import java.util.Objects;
 
@@ -10,9 +11,17 @@ public class PuzzlePiece {
     private int[] neighbouringOrdinals;
 
     private final Shape shape;
+    private final PieceEdge[] edges;
+    private final Rectangle bounds;
 
     public PuzzlePiece(Shape shape) {
+        this(shape, null);
+    }
+
+    public PuzzlePiece(Shape shape, PieceEdge[] edges) {
         this.shape = shape;
+        this.edges = edges;
+        this.bounds = shape.getBounds();
     }
 
     protected void setOrdinal(int ordinal) {
@@ -34,8 +43,17 @@ public class PuzzlePiece {
     public Shape getShape() {
         return shape;
     }
+
+    public PieceEdge[] getEdges() {
+        return edges;
+    }
+
+    public Rectangle getBounds() {
+        return new Rectangle(bounds);
+    }
+
     public Point getNWCorner() {
-        return new Point(getShape().getBounds().x, getShape().getBounds().y);
+        return new Point(bounds.x, bounds.y);
     }
 
     @Override
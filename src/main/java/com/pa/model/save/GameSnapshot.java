@@ -0,0 +1,314 @@
+package com.pa.model.save;
+
+import com.pa.model.creator.factory.PieceShape;
+import com.pa.model.creator.factory.PuzzleFactory;
+import com.pa.model.game.Game;
+import com.pa.model.puzzle.PuzzleData;
+import com.pa.model.puzzle.PuzzleFragment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class GameSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameSnapshot.class);
+
+    private static final int MAGIC = 0x50414753;
+    private static final short VERSION = 3;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Short.BYTES;
+    private static final int FINALIZED_OWNER = -1;
+    private static final String IMAGE_EXTENSION = ".png";
+
+    private final Game game;
+    private final long journalEpoch;
+    private final int[] owners;
+    private final int[] fragmentIds;
+    private final int[] translationsX;
+    private final int[] translationsY;
+
+    private GameSnapshot(Game game, long journalEpoch, int[] owners, int[] fragmentIds, int[] translationsX, int[] translationsY) {
+        this.game = game;
+        this.journalEpoch = journalEpoch;
+        this.owners = owners;
+        this.fragmentIds = fragmentIds;
+        this.translationsX = translationsX;
+        this.translationsY = translationsY;
+    }
+
+    // Copies only the mutable state, so a caller holding the engine lock can release it before anything is written.
+    public static GameSnapshot capture(Game game, long journalEpoch) {
+        PuzzleData data = game.getPuzzleData();
+        int[] owners = new int[data.countPieces()];
+        for (int ordinal = 0; ordinal < owners.length; ++ordinal) {
+            PuzzleFragment owner = data.getFragmentOwningPiece(ordinal);
+            owners[ordinal] = owner == null || owner.isFinalized() ? FINALIZED_OWNER : owner.getId();
+        }
+
+        PuzzleFragment[] fragments = data.getFragments(false);
+        int[] fragmentIds = new int[fragments.length];
+        int[] translationsX = new int[fragments.length];
+        int[] translationsY = new int[fragments.length];
+        for (int i = 0; i < fragments.length; ++i) {
+            fragmentIds[i] = fragments[i].getId();
+            translationsX[i] = fragments[i].getTranslationX();
+            translationsY[i] = fragments[i].getTranslationY();
+        }
+
+        return new GameSnapshot(game, journalEpoch, owners, fragmentIds, translationsX, translationsY);
+    }
+
+    public static void write(Game game, Path file) throws IOException {
+        GameSnapshot snapshot = capture(game, MoveJournal.NO_EPOCH);
+        snapshot.write(file, writeImage(game.getPuzzleData().getImage(), file));
+    }
+
+    // The image never changes during a game, so it lives in a sidecar named after its checksum and is only written once.
+    static long writeImage(Image image, Path snapshotFile) throws IOException {
+        long start = System.nanoTime();
+        byte[] encoded = encodeImage(image);
+        long checksum = checksum(ByteBuffer.wrap(encoded), 0, encoded.length);
+        Path imageFile = getImageFile(snapshotFile, checksum);
+        if (!Files.isRegularFile(imageFile) || Files.size(imageFile) != encoded.length) {
+            writeAtomically(ByteBuffer.wrap(encoded), imageFile);
+            LOG.info("Game image of {} bytes written to {} in {} ms.", encoded.length, imageFile, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        return checksum;
+    }
+
+    void write(Path file, long imageChecksum) throws IOException {
+        long start = System.nanoTime();
+        PuzzleData data = game.getPuzzleData();
+        Image image = data.getImage();
+        byte[] shapeName = getPieceShape(game).name().getBytes(StandardCharsets.UTF_8);
+
+        int size = HEADER_SIZE
+                + 2 * Long.BYTES + Short.BYTES + shapeName.length + 4 * Integer.BYTES + Long.BYTES
+                + Integer.BYTES + owners.length * Integer.BYTES
+                + Integer.BYTES + 3 * fragmentIds.length * Integer.BYTES
+                + Long.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        buffer.putLong(data.getGenerationSeed()).putLong(journalEpoch);
+        buffer.putShort((short) shapeName.length).put(shapeName);
+        buffer.putInt(data.countRows()).putInt(data.countColumns());
+        buffer.putInt(image.getWidth(null)).putInt(image.getHeight(null));
+        buffer.putLong(imageChecksum);
+
+        buffer.putInt(owners.length);
+        buffer.asIntBuffer().put(owners);
+        buffer.position(buffer.position() + owners.length * Integer.BYTES);
+
+        buffer.putInt(fragmentIds.length);
+        for (int i = 0; i < fragmentIds.length; ++i) {
+            buffer.putInt(fragmentIds[i]).putInt(translationsX[i]).putInt(translationsY[i]);
+        }
+
+        buffer.putLong(checksum(buffer, 0, buffer.position()));
+        buffer.flip();
+        writeAtomically(buffer, file);
+        deleteStaleImages(file, imageChecksum);
+        LOG.info("Game snapshot of {} bytes written to {} in {} ms.", size, file, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public long getJournalEpoch() {
+        return journalEpoch;
+    }
+
+    public static GameSnapshot read(Path file) throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            if (buffer.remaining() < HEADER_SIZE + Long.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException(String.format("%s is not a game snapshot.", file));
+            }
+
+            int checkedSize = buffer.limit() - Long.BYTES;
+            if (buffer.getLong(checkedSize) != checksum(buffer, 0, checkedSize)) {
+                throw new IOException(String.format("Game snapshot %s is corrupted.", file));
+            }
+
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported game snapshot version %s in %s.", version, file));
+            }
+            buffer.getShort();
+
+            long seed = buffer.getLong();
+            long journalEpoch = buffer.getLong();
+            byte[] shapeName = new byte[buffer.getShort()];
+            buffer.get(shapeName);
+            PieceShape pieceShape = PieceShape.valueOf(new String(shapeName, StandardCharsets.UTF_8));
+            int rows = buffer.getInt();
+            int columns = buffer.getInt();
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            BufferedImage image = readImage(file, buffer.getLong(), width, height);
+
+            PuzzleData data = PuzzleFactory.getFactory(pieceShape).generatePuzzle(rows, columns, image, seed);
+            int[] owners = new int[buffer.getInt()];
+            if (owners.length != data.countPieces()) {
+                throw new IOException(String.format("Game snapshot %s has %s pieces, expected %s.", file, owners.length, data.countPieces()));
+            }
+            buffer.asIntBuffer().get(owners);
+            buffer.position(buffer.position() + owners.length * Integer.BYTES);
+            restoreMembership(data, owners, file);
+
+            int fragmentCount = buffer.getInt();
+            int[] fragmentIds = new int[fragmentCount];
+            int[] translationsX = new int[fragmentCount];
+            int[] translationsY = new int[fragmentCount];
+            for (int i = 0; i < fragmentCount; ++i) {
+                fragmentIds[i] = buffer.getInt();
+                translationsX[i] = buffer.getInt();
+                translationsY[i] = buffer.getInt();
+                PuzzleFragment fragment = data.getFragment(fragmentIds[i]);
+                if (fragment == null || fragment.isFinalized()) {
+                    throw new IOException(String.format("Game snapshot %s references an unknown fragment.", file));
+                }
+
+                fragment.setTranslation(translationsX[i], translationsY[i]);
+            }
+
+            LOG.info("Game snapshot {} with {} piece(-s) read in {} ms.", file, owners.length, (System.nanoTime() - start) / 1_000_000);
+            return new GameSnapshot(new Game(data, pieceShape), journalEpoch, owners, fragmentIds, translationsX, translationsY);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException(String.format("Game snapshot %s is corrupted.", file), e);
+        }
+    }
+
+    private static BufferedImage readImage(Path snapshotFile, long checksum, int width, int height) throws IOException {
+        Path imageFile = getImageFile(snapshotFile, checksum);
+        byte[] encoded = Files.readAllBytes(imageFile);
+        if (checksum(ByteBuffer.wrap(encoded), 0, encoded.length) != checksum) {
+            throw new IOException(String.format("Game image %s is corrupted.", imageFile));
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            throw new IOException(String.format("Game image %s does not match the snapshot %s.", imageFile, snapshotFile));
+        }
+
+        return image;
+    }
+
+    private static byte[] encodeImage(Image image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (!ImageIO.write(toEncodableImage(image), "png", output)) {
+            throw new IOException("There is no PNG encoder available.");
+        }
+
+        return output.toByteArray();
+    }
+
+    private static BufferedImage toEncodableImage(Image image) {
+        if (image instanceof BufferedImage bufferedImage) {
+            switch (bufferedImage.getType()) {
+                case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR -> {
+                    return bufferedImage;
+                }
+                default -> {
+                }
+            }
+        }
+
+        boolean opaque = image instanceof BufferedImage bufferedImage && bufferedImage.getTransparency() == Transparency.OPAQUE;
+        BufferedImage converted = new BufferedImage(image.getWidth(null), image.getHeight(null), opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        converted.getGraphics().drawImage(image, 0, 0, null);
+        return converted;
+    }
+
+    // Written through a heap buffer rather than a mapping - a live mapping blocks replacing or deleting the file on Windows.
+    private static void writeAtomically(ByteBuffer buffer, Path file) throws IOException {
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), "snapshot", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void deleteStaleImages(Path snapshotFile, long imageChecksum) {
+        Path currentImage = getImageFile(snapshotFile, imageChecksum).getFileName();
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> images = Files.newDirectoryStream(directory, snapshotFile.getFileName() + "-*" + IMAGE_EXTENSION)) {
+            for (Path image : images) {
+                if (!image.getFileName().equals(currentImage)) {
+                    Files.deleteIfExists(image);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Cannot delete stale images of the game snapshot {}.", snapshotFile, e);
+        }
+    }
+
+    private static Path getImageFile(Path snapshotFile, long checksum) {
+        return snapshotFile.resolveSibling(String.format("%s-%08x%s", snapshotFile.getFileName(), checksum, IMAGE_EXTENSION));
+    }
+
+    private static void restoreMembership(PuzzleData data, int[] owners, Path file) throws IOException {
+        PuzzleFragment finalizedGroup = null;
+        for (int ordinal = 0; ordinal < owners.length; ++ordinal) {
+            int owner = owners[ordinal];
+            if (owner == FINALIZED_OWNER) {
+                if (finalizedGroup == null) {
+                    finalizedGroup = data.getFragmentOwningPiece(ordinal);
+                } else {
+                    data.mergeFragments(finalizedGroup, data.getFragmentOwningPiece(ordinal));
+                }
+                continue;
+            }
+
+            if (owner < 0 || owner >= owners.length || owners[owner] != owner) {
+                throw new IOException(String.format("Game snapshot %s assigns piece %s to an invalid fragment %s.", file, ordinal, owner));
+            }
+
+            if (owner != ordinal) {
+                data.mergeFragments(data.getFragment(owner), data.getFragmentOwningPiece(ordinal));
+            }
+        }
+
+        if (finalizedGroup != null) {
+            data.finalize(finalizedGroup);
+        }
+    }
+
+    private static long checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(offset).limit(offset + length));
+        return crc.getValue();
+    }
+
+    private static PieceShape getPieceShape(Game game) {
+        return game.getPieceShape() != null ? game.getPieceShape() : PieceShape.CLASSIC;
+    }
+
+}
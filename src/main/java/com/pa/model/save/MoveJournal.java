@@ -0,0 +1,325 @@
+package com.pa.model.save;
+
+import com.pa.model.game.Game;
+import com.pa.model.game.MoveRecord;
+import com.pa.model.game.MoveResult;
+import com.pa.model.game.PuzzleEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+public class MoveJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoveJournal.class);
+
+    private static final int MAGIC = 0x50414D4A;
+    private static final short VERSION = 3;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Short.BYTES + 2 * Long.BYTES;
+    private static final int RECORD_FIXED_SIZE = Long.BYTES + 4 * Integer.BYTES + Byte.BYTES + Short.BYTES;
+    private static final int REGULARIZATION_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final MoveRecord WAKE_UP = new MoveRecord(-1, 0, 0, MoveResult.ignored(-1), 0, 0);
+
+    public static final long NO_EPOCH = 0;
+
+    private final Path journalFile;
+    private final Path snapshotFile;
+    private final Game game;
+    private final PuzzleEngine engine;
+    private final int compactionThreshold;
+    private final BlockingQueue<MoveRecord> queue;
+    private final Consumer<MoveRecord> listener;
+
+    private FileChannel channel;
+    private Thread writer;
+    private int recordsSinceCompaction;
+    private boolean imageWritten;
+    private long imageChecksum;
+    private volatile boolean compactionRequested;
+    private volatile boolean closed;
+
+    public MoveJournal(Path journalFile, Path snapshotFile, Game game, PuzzleEngine engine, int compactionThreshold) {
+        this.journalFile = journalFile;
+        this.snapshotFile = snapshotFile;
+        this.game = game;
+        this.engine = engine;
+        this.compactionThreshold = compactionThreshold;
+        this.queue = new LinkedBlockingQueue<>();
+        this.listener = queue::offer;
+    }
+
+    // The journal on disk is left untouched until the first compaction has written a snapshot for this game. A journal that
+    // continues the snapshot the game was resumed from keeps its records, so a crash before that point loses nothing.
+    public void start(long continuedEpoch) throws IOException {
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        compactionRequested = continuedEpoch == NO_EPOCH || !isValidJournal(channel, game.getPuzzleData().getGenerationSeed(), continuedEpoch);
+
+        engine.addMoveListener(listener);
+        writer = new Thread(this::runWriter, "move-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        if (compactionRequested) {
+            queue.offer(WAKE_UP);
+        }
+    }
+
+    public void requestCompaction() {
+        compactionRequested = true;
+        queue.offer(WAKE_UP);
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        engine.removeMoveListener(listener);
+        closed = true;
+        queue.offer(WAKE_UP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("Cannot close the move journal {}.", journalFile, e);
+        }
+    }
+
+    public static List<MoveRecord> read(Path journalFile, long generationSeed, long epoch) throws IOException {
+        List<MoveRecord> records = new ArrayList<>();
+        if (!Files.isRegularFile(journalFile)) {
+            return records;
+        }
+
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            if (!isValidJournal(channel, generationSeed, epoch)) {
+                LOG.info("Move journal {} does not continue the snapshot of the game with seed {}.", journalFile, generationSeed);
+                return records;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - HEADER_SIZE));
+            channel.read(buffer, HEADER_SIZE);
+            buffer.flip();
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length < RECORD_FIXED_SIZE || buffer.remaining() < length + Integer.BYTES) {
+                    break;
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                CRC32 crc = new CRC32();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    break;
+                }
+
+                records.add(decode(payload));
+            }
+        }
+
+        if (!records.isEmpty()) {
+            LOG.info("{} move(-s) read from the journal {}.", records.size(), journalFile);
+        }
+        return records;
+    }
+
+    private void runWriter() {
+        List<MoveRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        while (true) {
+            try {
+                MoveRecord first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                }
+
+                // Records taken from the queue belong to moves applied before the snapshot is captured, so it covers them.
+                if (compactionRequested || recordsSinceCompaction + batch.size() >= compactionThreshold) {
+                    compact();
+                } else if (!batch.isEmpty()) {
+                    buffer = writeBatch(batch, buffer);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Cannot write to the move journal {}.", journalFile, e);
+            } finally {
+                batch.clear();
+            }
+
+            if (closed && queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private ByteBuffer writeBatch(List<MoveRecord> batch, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        int written = 0;
+        for (MoveRecord record : batch) {
+            if (record == WAKE_UP) {
+                continue;
+            }
+
+            int length = RECORD_FIXED_SIZE + record.getResult().getRemovedFragmentIds().length * Integer.BYTES
+                    + (record.isRegularization() ? REGULARIZATION_SIZE : 0);
+            if (buffer.remaining() < length + 2 * Integer.BYTES) {
+                flush(buffer);
+                if (buffer.capacity() < length + 2 * Integer.BYTES) {
+                    buffer = ByteBuffer.allocateDirect(length + 2 * Integer.BYTES);
+                }
+            }
+
+            buffer.putInt(length);
+            int payloadStart = buffer.position();
+            encode(record, buffer);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(payloadStart).limit(buffer.position()));
+            buffer.putInt((int) crc.getValue());
+            ++written;
+        }
+
+        if (written > 0) {
+            flush(buffer);
+            channel.force(false);
+            recordsSinceCompaction += written;
+        }
+
+        return buffer;
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Only the copy of the mutable state happens under the engine lock. Encoding and writing run after moves may continue; those
+    // moves queue up and land in the journal started for the new snapshot. The snapshot names that journal's epoch, so a crash
+    // between the two writes never replays records the snapshot already contains.
+    private void compact() throws IOException {
+        long start = System.nanoTime();
+        long epoch = newEpoch();
+        GameSnapshot snapshot;
+        compactionRequested = false;
+        synchronized (engine) {
+            // Every queued record was produced by a move that is already applied, so the snapshot covers it.
+            queue.removeIf(record -> record != WAKE_UP);
+            snapshot = GameSnapshot.capture(game, epoch);
+        }
+        long captured = System.nanoTime();
+
+        try {
+            if (!imageWritten) {
+                imageChecksum = GameSnapshot.writeImage(game.getPuzzleData().getImage(), snapshotFile);
+                imageWritten = true;
+            }
+            snapshot.write(snapshotFile, imageChecksum);
+            resetJournal(epoch);
+        } catch (IOException | RuntimeException e) {
+            // The journal on disk may still belong to the previous snapshot, so nothing is appended to it until a retry succeeds.
+            compactionRequested = true;
+            throw e;
+        }
+
+        LOG.debug("Move journal compacted after {} move(-s) in {} ms, {} us of them under the engine lock.", recordsSinceCompaction,
+                (System.nanoTime() - start) / 1_000_000, (captured - start) / 1000);
+        recordsSinceCompaction = 0;
+    }
+
+    private void resetJournal(long epoch) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putLong(game.getPuzzleData().getGenerationSeed()).putLong(epoch);
+        header.flip();
+        channel.write(header, 0);
+        channel.force(true);
+        channel.position(HEADER_SIZE);
+    }
+
+    private static long newEpoch() {
+        long epoch;
+        do {
+            epoch = ThreadLocalRandom.current().nextLong();
+        } while (epoch == NO_EPOCH);
+
+        return epoch;
+    }
+
+    private static boolean isValidJournal(FileChannel channel, long generationSeed, long epoch) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        return header.getInt() == MAGIC && header.getShort() == VERSION && header.getShort() == 0 && header.getLong() == generationSeed
+                && header.getLong() == epoch;
+    }
+
+    private static void encode(MoveRecord record, ByteBuffer buffer) {
+        MoveResult result = record.getResult();
+        int[] removedFragmentIds = result.getRemovedFragmentIds();
+        buffer.putLong(record.getTimestampMillis());
+        buffer.putInt(record.getFragmentId()).putInt(record.getX()).putInt(record.getY());
+        buffer.put((byte) result.getType().ordinal());
+        buffer.putInt(result.getResultingFragmentId());
+        buffer.putShort((short) removedFragmentIds.length);
+        for (int removedFragmentId : removedFragmentIds) {
+            buffer.putInt(removedFragmentId);
+        }
+
+        if (record.isRegularization()) {
+            Rectangle boardArea = record.getBoardArea();
+            buffer.putInt(boardArea.width).putInt(boardArea.height).putLong(record.getSeed());
+        }
+    }
+
+    private static MoveRecord decode(ByteBuffer payload) {
+        long timestampMillis = payload.getLong();
+        int fragmentId = payload.getInt();
+        int x = payload.getInt();
+        int y = payload.getInt();
+        MoveResult.Type type = MoveResult.Type.values()[payload.get()];
+        int resultingFragmentId = payload.getInt();
+        int[] removedFragmentIds = new int[Short.toUnsignedInt(payload.getShort())];
+        for (int i = 0; i < removedFragmentIds.length; ++i) {
+            removedFragmentIds[i] = payload.getInt();
+        }
+
+        if (type == MoveResult.Type.REGULARIZED) {
+            int width = payload.getInt();
+            int height = payload.getInt();
+            return MoveRecord.regularization(new Rectangle(x, y, width, height), payload.getLong(), 0, timestampMillis);
+        }
+
+        return new MoveRecord(fragmentId, x, y, new MoveResult(type, fragmentId, resultingFragmentId, removedFragmentIds), 0, timestampMillis);
+    }
+
+}
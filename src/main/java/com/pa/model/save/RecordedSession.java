@@ -0,0 +1,34 @@
+package com.pa.model.save;
+
+import com.pa.model.game.Game;
+import com.pa.model.game.MoveRecord;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public class RecordedSession {
+
+    private final Game game;
+    private final List<MoveRecord> moves;
+
+    public RecordedSession(Game game, List<MoveRecord> moves) {
+        this.game = game;
+        this.moves = moves;
+    }
+
+    public static RecordedSession read(Path snapshotFile, Path journalFile) throws IOException {
+        GameSnapshot snapshot = GameSnapshot.read(snapshotFile);
+        Game game = snapshot.getGame();
+        return new RecordedSession(game, MoveJournal.read(journalFile, game.getPuzzleData().getGenerationSeed(), snapshot.getJournalEpoch()));
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public List<MoveRecord> getMoves() {
+        return moves;
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.pa.simulator;
+
+import com.pa.controller.PuzzleController;
+import com.pa.model.creator.GameCreator;
+import com.pa.model.creator.factory.PieceShape;
+import com.pa.model.game.Game;
+import com.pa.model.game.MoveResult;
+import com.pa.model.puzzle.PuzzleData;
+import com.pa.model.puzzle.PuzzleFragment;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class PuzzleSimulator {
+
+    private static final int CELL_SIZE = 16;
+
+    private final int rows;
+    private final int columns;
+    private final long seed;
+
+    private double alignProbability;
+    private double missProbability;
+    private long maxMoves;
+
+    public PuzzleSimulator(int rows, int columns, long seed) {
+        this.rows = rows;
+        this.columns = columns;
+        this.seed = seed;
+        this.alignProbability = 0.75;
+        this.missProbability = 0.1;
+        this.maxMoves = 50L * rows * columns;
+    }
+
+    public void setAlignProbability(double alignProbability) {
+        this.alignProbability = alignProbability;
+    }
+
+    public void setMissProbability(double missProbability) {
+        this.missProbability = missProbability;
+    }
+
+    public void setMaxMoves(long maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    public SimulationReport run() {
+        long generationStart = System.nanoTime();
+        GameCreator creator = new GameCreator();
+        creator.setRows(rows);
+        creator.setColumns(columns);
+        creator.setPieceShape(PieceShape.CLASSIC);
+        creator.setImage(new BufferedImage(columns * CELL_SIZE, rows * CELL_SIZE, BufferedImage.TYPE_BYTE_GRAY));
+        creator.setSeed(seed);
+        Game game = creator.buildGame();
+        long generationNanos = System.nanoTime() - generationStart;
+
+        PuzzleData data = game.getPuzzleData();
+        data.regularizePieces(new Rectangle(-columns * CELL_SIZE, -rows * CELL_SIZE, 3 * columns * CELL_SIZE, 3 * rows * CELL_SIZE), seed);
+
+        PuzzleController controller = new PuzzleController();
+        controller.setPuzzleData(data);
+        int tolerance = controller.getEngine().getToleranceForJoining();
+
+        LiveFragments liveFragments = new LiveFragments(data);
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[Math.max(16, rows * columns)];
+        int moves = 0;
+
+        resetPeakHeapUsage();
+        long allocatedBefore = getAllocatedBytes();
+        long movesStart = System.nanoTime();
+
+        while (data.countFinalizedPieces() != data.countPieces() && moves < maxMoves) {
+            PuzzleFragment fragment = data.getFragment(liveFragments.pick(random));
+
+            int translationX = 0;
+            int translationY = 0;
+            if (random.nextDouble() < alignProbability) {
+                PuzzleFragment neighbour = pickNeighbour(data, fragment, random);
+                if (neighbour != null) {
+                    translationX = neighbour.getTranslationX();
+                    translationY = neighbour.getTranslationY();
+                }
+            }
+
+            boolean miss = random.nextDouble() < missProbability;
+            int x = fragment.getX() - fragment.getTranslationX() + translationX + noise(random, tolerance, miss);
+            int y = fragment.getY() - fragment.getTranslationY() + translationY + noise(random, tolerance, miss);
+
+            long moveStart = System.nanoTime();
+            MoveResult result = controller.moveFragment(fragment.getId(), x, y);
+            long latency = System.nanoTime() - moveStart;
+
+            if (moves == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[moves++] = latency;
+            liveFragments.removeAll(result.getRemovedFragmentIds());
+        }
+
+        long movesNanos = System.nanoTime() - movesStart;
+        long allocatedBytes = getAllocatedBytes() - allocatedBefore;
+
+        return new SimulationReport(rows, columns, seed, generationNanos, movesNanos, Arrays.copyOf(latencies, moves),
+                allocatedBytes, getPeakHeapUsage(), data.countFinalizedPieces() == data.countPieces());
+    }
+
+    private static PuzzleFragment pickNeighbour(PuzzleData data, PuzzleFragment fragment, SplittableRandom random) {
+        int startOrdinal = random.nextInt(data.countPieces());
+        int ordinal = fragment.nextBorderingPieceOrdinal(startOrdinal);
+        if (ordinal < 0) {
+            ordinal = fragment.nextBorderingPieceOrdinal(0);
+        }
+
+        return ordinal >= 0 ? data.getFragmentOwningPiece(ordinal) : null;
+    }
+
+    private static int noise(SplittableRandom random, int tolerance, boolean miss) {
+        if (!miss) {
+            return random.nextInt(-tolerance, tolerance + 1);
+        }
+
+        int distance = random.nextInt(tolerance + 1, 4 * tolerance + 1);
+        return random.nextBoolean() ? distance : -distance;
+    }
+
+    static long getAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean && threadBean.isThreadAllocatedMemorySupported()) {
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return -1;
+    }
+
+    static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    static long getPeakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return peak;
+    }
+
+    public static void main(String... args) {
+        if (System.getProperty("org.slf4j.simpleLogger.defaultLogLevel") == null) {
+            System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "warn");
+        }
+
+        long seed = 42L;
+        String[] boards = {"10x10", "50x50", "200x200"};
+        for (int i = 0; i < args.length; ++i) {
+            if ("--seed".equals(args[i]) && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else {
+                boards = args[i].split(",");
+            }
+        }
+
+        for (String board : boards) {
+            String[] dimensions = board.toLowerCase().split("x");
+            PuzzleSimulator simulator = new PuzzleSimulator(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), seed);
+            System.out.println(simulator.run());
+        }
+    }
+
+    private static class LiveFragments {
+
+        private final int[] ids;
+        private final int[] positions;
+        private int size;
+
+        private LiveFragments(PuzzleData data) {
+            ids = new int[data.countPieces()];
+            positions = new int[data.countPieces()];
+            Arrays.fill(positions, -1);
+            for (PuzzleFragment fragment : data.getFragments(false)) {
+                positions[fragment.getId()] = size;
+                ids[size++] = fragment.getId();
+            }
+        }
+
+        private int pick(SplittableRandom random) {
+            return ids[random.nextInt(size)];
+        }
+
+        private void removeAll(int[] removedIds) {
+            for (int id : removedIds) {
+                int position = id >= 0 ? positions[id] : -1;
+                if (position < 0) {
+                    continue;
+                }
+
+                int lastId = ids[--size];
+                ids[position] = lastId;
+                positions[lastId] = position;
+                positions[id] = -1;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.pa.simulator;
+
+import com.pa.model.game.MoveResult;
+
+import java.util.Arrays;
+
+public class ReplayReport {
+
+    private final String session;
+    private final int pieces;
+    private final long loadNanos;
+    private final long movesNanos;
+    private final long[][] sortedLatenciesByType;
+    private final int divergedMoves;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+
+    public ReplayReport(String session, int pieces, long loadNanos, long movesNanos, long[][] latenciesByType,
+                        int divergedMoves, long allocatedBytes, long peakHeapBytes) {
+        this.session = session;
+        this.pieces = pieces;
+        this.loadNanos = loadNanos;
+        this.movesNanos = movesNanos;
+        this.sortedLatenciesByType = new long[latenciesByType.length][];
+        for (int i = 0; i < latenciesByType.length; ++i) {
+            sortedLatenciesByType[i] = latenciesByType[i].clone();
+            Arrays.sort(sortedLatenciesByType[i]);
+        }
+        this.divergedMoves = divergedMoves;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public int countMoves() {
+        return Arrays.stream(sortedLatenciesByType).mapToInt(latencies -> latencies.length).sum();
+    }
+
+    public int countMoves(MoveResult.Type type) {
+        return sortedLatenciesByType[type.ordinal()].length;
+    }
+
+    public double getMovesPerSecond() {
+        return movesNanos > 0 ? countMoves() / (movesNanos / 1e9) : 0;
+    }
+
+    public long getLatencyPercentile(MoveResult.Type type, double percentile) {
+        long[] latencies = sortedLatenciesByType[type.ordinal()];
+        if (latencies.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+        return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+    }
+
+    public int getDivergedMoves() {
+        return divergedMoves;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("ReplayReport{session=%s, pieces=%d, load=%.1f ms, moves=%d, movesPerSecond=%.0f, diverged=%d, allocated=%.1f MB, peakHeap=%.1f MB}",
+                session, pieces, loadNanos / 1e6, countMoves(), getMovesPerSecond(), divergedMoves, allocatedBytes / (1024.0 * 1024.0), peakHeapBytes / (1024.0 * 1024.0)));
+        for (MoveResult.Type type : MoveResult.Type.values()) {
+            if (countMoves(type) > 0) {
+                builder.append(String.format("%n  %-9s moves=%d, latency[p50=%.1f us, p90=%.1f us, p99=%.1f us, max=%.1f us]",
+                        type, countMoves(type), getLatencyPercentile(type, 50) / 1e3, getLatencyPercentile(type, 90) / 1e3,
+                        getLatencyPercentile(type, 99) / 1e3, getLatencyPercentile(type, 100) / 1e3));
+            }
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.pa.simulator;
+
+import com.pa.controller.PuzzleController;
+import com.pa.model.game.MoveRecord;
+import com.pa.model.game.MoveResult;
+import com.pa.model.save.RecordedSession;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class SessionReplayer {
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+
+    public SessionReplayer(Path snapshotFile, Path journalFile) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+    }
+
+    public ReplayReport replay() throws IOException {
+        long loadStart = System.nanoTime();
+        RecordedSession session = RecordedSession.read(snapshotFile, journalFile);
+        long loadNanos = System.nanoTime() - loadStart;
+
+        PuzzleController controller = new PuzzleController();
+        controller.setPuzzleData(session.getGame().getPuzzleData());
+
+        MoveResult.Type[] types = MoveResult.Type.values();
+        long[][] latencies = new long[types.length][session.getMoves().size()];
+        int[] counts = new int[types.length];
+        int divergedMoves = 0;
+
+        PuzzleSimulator.resetPeakHeapUsage();
+        long allocatedBefore = PuzzleSimulator.getAllocatedBytes();
+        long movesStart = System.nanoTime();
+
+        for (MoveRecord record : session.getMoves()) {
+            long moveStart = System.nanoTime();
+            MoveResult result = controller.replay(record);
+            long latency = System.nanoTime() - moveStart;
+
+            int type = result.getType().ordinal();
+            latencies[type][counts[type]++] = latency;
+            if (result.getType() != record.getResult().getType()) {
+                ++divergedMoves;
+            }
+        }
+
+        long movesNanos = System.nanoTime() - movesStart;
+        long allocatedBytes = PuzzleSimulator.getAllocatedBytes() - allocatedBefore;
+        for (int i = 0; i < types.length; ++i) {
+            latencies[i] = Arrays.copyOf(latencies[i], counts[i]);
+        }
+
+        return new ReplayReport(journalFile.getFileName().toString(), session.getGame().getPuzzleData().countPieces(), loadNanos, movesNanos,
+                latencies, divergedMoves, allocatedBytes, PuzzleSimulator.getPeakHeapUsage());
+    }
+
+    public static void main(String... args) throws IOException {
+        if (System.getProperty("org.slf4j.simpleLogger.defaultLogLevel") == null) {
+            System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "warn");
+        }
+
+        if (args.length < 2) {
+            System.err.println("Usage: SessionReplayer <snapshot.pags> <journal.pamj> [--repeat n]");
+            System.exit(1);
+        }
+
+        int repeat = 1;
+        for (int i = 2; i < args.length; ++i) {
+            if ("--repeat".equals(args[i]) && i + 1 < args.length) {
+                repeat = Integer.parseInt(args[++i]);
+            }
+        }
+
+        SessionReplayer replayer = new SessionReplayer(Paths.get(args[0]), Paths.get(args[1]));
+        for (int i = 0; i < repeat; ++i) {
+            System.out.println(replayer.replay());
+        }
+    }
+
+}
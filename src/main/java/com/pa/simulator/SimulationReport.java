@@ -0,0 +1,70 @@
+package com.pa.simulator;
+
+import java.util.Arrays;
+
+public class SimulationReport {
+
+    private final int rows;
+    private final int columns;
+    private final long seed;
+    private final long generationNanos;
+    private final long movesNanos;
+    private final long[] sortedLatencies;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+    private final boolean solved;
+
+    public SimulationReport(int rows, int columns, long seed, long generationNanos, long movesNanos, long[] latencies,
+                            long allocatedBytes, long peakHeapBytes, boolean solved) {
+        this.rows = rows;
+        this.columns = columns;
+        this.seed = seed;
+        this.generationNanos = generationNanos;
+        this.movesNanos = movesNanos;
+        this.sortedLatencies = latencies.clone();
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+        this.solved = solved;
+        Arrays.sort(sortedLatencies);
+    }
+
+    public int countMoves() {
+        return sortedLatencies.length;
+    }
+
+    public double getMovesPerSecond() {
+        return movesNanos > 0 ? countMoves() / (movesNanos / 1e9) : 0;
+    }
+
+    public long getLatencyPercentile(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationReport{board=%dx%d, seed=%d, solved=%s, generation=%.1f ms, moves=%d, movesPerSecond=%.0f, "
+                        + "latency[p50=%.1f us, p90=%.1f us, p99=%.1f us, p99.9=%.1f us, max=%.1f us], allocated=%.1f MB (%.0f B/move), peakHeap=%.1f MB}",
+                rows, columns, seed, solved, generationNanos / 1e6, countMoves(), getMovesPerSecond(),
+                getLatencyPercentile(50) / 1e3, getLatencyPercentile(90) / 1e3, getLatencyPercentile(99) / 1e3,
+                getLatencyPercentile(99.9) / 1e3, getLatencyPercentile(100) / 1e3,
+                allocatedBytes / (1024.0 * 1024.0), countMoves() > 0 ? allocatedBytes / (double) countMoves() : 0, peakHeapBytes / (1024.0 * 1024.0));
+    }
+
+}
@@ -2,11 +2,19 @@ package com.pa.view;
 
 import com.gutil.gui.GBC;
 import com.gutil.gui.component.button.RoundRectButton;
+import com.pa.AppEnv;
+import com.pa.controller.GameStorageController;
+import com.pa.controller.PAControllerException;
 import com.pa.controller.PuzzleController;
 import com.pa.model.game.Game;
+import com.pa.model.game.PuzzleEngine;
+import com.pa.model.save.RecordedSession;
 import com.pa.view.game.CatalogPanel;
 import com.pa.view.game.GameCreatorPanel;
 import com.pa.view.game.GamePanel;
+import com.pa.view.game.SessionLoadWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -15,6 +23,8 @@ import java.awt.GridBagLayout;
 
 public class AppWindow extends JFrame {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AppWindow.class);
+
     public static final String CREATOR_PANEL = "CREATOR_PANEL";
     public static final String GAME_PANEL = "GAME_PANEL";
     public static final String CATALOG_PANEL = "CATALOG_PANEL";
@@ -26,9 +36,13 @@ public class AppWindow extends JFrame {
     private final JPanel menuPanel;
 
     private final PuzzleController puzzleController;
+    private final GameStorageController storageController;
 
     private final CardLayout cardLayout;
 
+    private Game currentGame;
+    private PuzzleEngine suspendedEngine;
+
     public AppWindow() {
         setTitle("PuzzleApplication");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
@@ -36,6 +50,7 @@ public class AppWindow extends JFrame {
         setUndecorated(true);
 
         puzzleController = new PuzzleController();
+        storageController = new GameStorageController();
 
         gameCreatorPanel = new GameCreatorPanel(this);
         catalogPanel = new CatalogPanel(this);
@@ -65,11 +80,72 @@ public class AppWindow extends JFrame {
     }
 
     public void loadGame(Game game) {
+        gamePanel.stopReplay();
+        suspendedEngine = null;
+        currentGame = game;
         puzzleController.setPuzzleData(game.getPuzzleData());
         gamePanel.reset();
         puzzleController.regularizePieces(gamePanel.getBounds(), gamePanel.getOffset());
         gamePanel.reload();
+        startJournal(game);
+        cardLayout.show(mainPanel, GAME_PANEL);
+    }
+
+    public void resumeGame(Game game) {
+        gamePanel.stopReplay();
+        suspendedEngine = null;
+        currentGame = game;
+        puzzleController.setPuzzleData(game.getPuzzleData());
+        gamePanel.reset();
+        startJournal(game);
+        cardLayout.show(mainPanel, GAME_PANEL);
+    }
+
+    public void replayLatestSession(double speed) {
+        new SessionLoadWorker(this, speed).execute();
+    }
+
+    // The journal and the recording stay attached to the suspended engine, so the current game keeps autosaving and comes
+    // back once the replay ends.
+    public void replaySession(RecordedSession recordedSession, double speed) {
+        if (currentGame != null && suspendedEngine == null) {
+            suspendedEngine = puzzleController.getEngine();
+        }
+
+        puzzleController.setPuzzleData(recordedSession.getGame().getPuzzleData());
+        gamePanel.reset();
         cardLayout.show(mainPanel, GAME_PANEL);
+        gamePanel.replay(recordedSession.getMoves(), speed, this::restoreSuspendedGame);
+    }
+
+    private void restoreSuspendedGame() {
+        if (suspendedEngine == null) {
+            return;
+        }
+
+        puzzleController.setEngine(suspendedEngine);
+        suspendedEngine = null;
+        gamePanel.reset();
+    }
+
+    private void startJournal(Game game) {
+        try {
+            storageController.startJournal(game, puzzleController.getEngine(), AppEnv.getSavedGameFile(), AppEnv.getMoveJournalFile());
+        } catch (PAControllerException e) {
+            LOG.error("Autosave is disabled for this game.", e);
+        }
+
+        if (Boolean.getBoolean("pa.recordSessions")) {
+            try {
+                storageController.startRecording(game, puzzleController.getEngine(), AppEnv.getSessionDirectory());
+            } catch (PAControllerException e) {
+                LOG.error("Session recording is disabled for this game.", e);
+            }
+        }
+    }
+
+    public Game getCurrentGame() {
+        return currentGame;
     }
 
     public void show(String element) {
@@ -80,6 +156,10 @@ public class AppWindow extends JFrame {
         }
     }
 
+    public GameStorageController getStorageController() {
+        return storageController;
+    }
+
     public PuzzleController getPuzzleController() {
         return puzzleController;
     }
@@ -0,0 +1,209 @@
+package com.pa.view.game;
+
+import com.pa.controller.PuzzleController;
+import com.pa.model.game.MoveResult;
+import com.pa.model.game.PuzzleEngine;
+import com.pa.model.puzzle.PuzzleFragment;
+import com.pa.view.icon.FragmentSpriteCache;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+public class BoardCanvas extends JComponent {
+
+    private static final Color BOARD_COLOR = new Color(60, 60, 60);
+
+    private final PuzzleController puzzleController;
+    private final Map<Integer, Long> raiseOrder;
+    private PuzzleFragment[] paintOrder;
+    private long raiseCounter;
+
+    private PuzzleFragment draggedFragment;
+    private Rectangle draggedArea;
+    private Point grabOffset;
+    private Point panningPoint;
+    private BiConsumer<Integer, Integer> panningAction;
+
+    public BoardCanvas(PuzzleController puzzleController) {
+        this.puzzleController = puzzleController;
+        this.raiseOrder = new HashMap<>();
+        this.panningAction = (dx, dy) -> {};
+        setOpaque(false);
+
+        MouseAdapter adapter = new BoardCanvasMouseAdapter();
+        addMouseListener(adapter);
+        addMouseMotionListener(adapter);
+    }
+
+    public void setPanningAction(BiConsumer<Integer, Integer> panningAction) {
+        this.panningAction = panningAction;
+    }
+
+    public void reload() {
+        raiseOrder.clear();
+        paintOrder = null;
+        draggedFragment = null;
+        repaint();
+    }
+
+    public void refresh() {
+        paintOrder = null;
+        repaint();
+    }
+
+    public void reconcile(MoveResult result, Rectangle previousArea) {
+        for (int removedFragmentId : result.getRemovedFragmentIds()) {
+            raiseOrder.remove(removedFragmentId);
+        }
+        paintOrder = null;
+
+        Rectangle dirtyArea = new Rectangle(previousArea);
+        PuzzleFragment fragment = puzzleController.getFragment(result.getResultingFragmentId());
+        if (fragment != null && fragment.countPieces() != 0) {
+            dirtyArea.add(toViewArea(fragment));
+        }
+
+        // Merged fragments were within the joining tolerance of the resulting fragment, so growing the area covers their old pixels.
+        PuzzleEngine engine = puzzleController.getEngine();
+        int tolerance = engine != null ? engine.getToleranceForJoining() : 0;
+        dirtyArea.grow(tolerance + 1, tolerance + 1);
+        repaint(dirtyArea);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Image image = puzzleController.getImage();
+        if (image == null) {
+            return;
+        }
+
+        Point offset = puzzleController.getOffset();
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        g.setColor(BOARD_COLOR);
+        g.fillRect(-offset.x, -offset.y, image.getWidth(null), image.getHeight(null));
+
+        FragmentSpriteCache spriteCache = FragmentSpriteCache.getInstance();
+        for (PuzzleFragment fragment : getPaintOrder()) {
+            if (fragment == draggedFragment || fragment.countPieces() == 0) {
+                continue;
+            }
+
+            Rectangle area = toViewArea(fragment);
+            if (area.intersects(clip)) {
+                g.drawImage(spriteCache.getSprite(fragment, image, !fragment.isFinalized(), getGraphicsConfiguration()), area.x, area.y, null);
+            }
+        }
+
+        if (draggedFragment != null && draggedArea.intersects(clip)) {
+            g.drawImage(spriteCache.getSprite(draggedFragment, image, true, getGraphicsConfiguration()), draggedArea.x, draggedArea.y, null);
+        }
+    }
+
+    private PuzzleFragment[] getPaintOrder() {
+        if (paintOrder == null) {
+            paintOrder = puzzleController.getFragments(true);
+            Arrays.sort(paintOrder, Comparator
+                    .comparing(PuzzleFragment::isFinalized).reversed()
+                    .thenComparing(Comparator.comparingInt(PuzzleFragment::countPieces).reversed())
+                    .thenComparingLong(fragment -> raiseOrder.getOrDefault(fragment.getId(), 0L)));
+        }
+
+        return paintOrder;
+    }
+
+    private PuzzleFragment findFragmentAt(Point point) {
+        Point offset = puzzleController.getOffset();
+        PuzzleFragment[] fragments = getPaintOrder();
+        for (int i = fragments.length - 1; i >= 0; --i) {
+            PuzzleFragment fragment = fragments[i];
+            if (fragment.isFinalized() || fragment.countPieces() == 0 || !toViewArea(fragment).contains(point)) {
+                continue;
+            }
+
+            int solvedX = point.x + offset.x - fragment.getTranslationX();
+            int solvedY = point.y + offset.y - fragment.getTranslationY();
+            if (fragment.getShape().contains(solvedX, solvedY)) {
+                return fragment;
+            }
+        }
+
+        return null;
+    }
+
+    private Rectangle toViewArea(PuzzleFragment fragment) {
+        Point offset = puzzleController.getOffset();
+        Rectangle fragmentBounds = fragment.getBounds();
+        return new Rectangle(fragment.getX() - offset.x, fragment.getY() - offset.y, fragmentBounds.width + 1, fragmentBounds.height + 1);
+    }
+
+    private class BoardCanvasMouseAdapter extends MouseAdapter {
+
+        @Override
+        public void mousePressed(MouseEvent event) {
+            draggedFragment = findFragmentAt(event.getPoint());
+            if (draggedFragment == null) {
+                panningPoint = event.getPoint();
+                return;
+            }
+
+            raiseOrder.put(draggedFragment.getId(), ++raiseCounter);
+            paintOrder = null;
+            draggedArea = toViewArea(draggedFragment);
+            grabOffset = new Point(event.getX() - draggedArea.x, event.getY() - draggedArea.y);
+            repaint(draggedArea);
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent event) {
+            if (draggedFragment == null) {
+                if (panningPoint != null) {
+                    panningAction.accept(event.getX() - panningPoint.x, event.getY() - panningPoint.y);
+                    panningPoint = event.getPoint();
+                }
+                return;
+            }
+
+            Rectangle previousArea = new Rectangle(draggedArea);
+            draggedArea.setLocation(event.getX() - grabOffset.x, event.getY() - grabOffset.y);
+            repaint(previousArea.union(draggedArea));
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent event) {
+            panningPoint = null;
+            if (draggedFragment == null) {
+                return;
+            }
+
+            Point offset = puzzleController.getOffset();
+            Rectangle previousArea = new Rectangle(draggedArea);
+            PuzzleFragment fragment = draggedFragment;
+            draggedFragment = null;
+
+            MoveResult result = puzzleController.moveFragment(fragment.getId(), previousArea.x + offset.x, previousArea.y + offset.y);
+            if (result.changesFragments()) {
+                reconcile(result, previousArea);
+            } else {
+                previousArea.add(toViewArea(fragment));
+                repaint(previousArea);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.pa.view.game;
+
+public enum BoardRendererType {
+
+    ICONS,
+    CANVAS;
+
+    public static BoardRendererType fromSystemProperty() {
+        String value = System.getProperty("pa.boardRenderer");
+        for (BoardRendererType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+
+        return ICONS;
+    }
+
+}
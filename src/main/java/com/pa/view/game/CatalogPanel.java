@@ -1,6 +1,7 @@
 package com.pa.view.game;
 
 import com.gutil.gui.GBC;
+import com.gutil.gui.ImageReadUtil;
 import com.gutil.gui.ImageUtil;
 import com.gutil.gui.ResizeQuality;
 import com.gutil.gui.WindowUtil;
@@ -18,35 +19,66 @@ import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.GridBagLayout;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class CatalogPanel extends RoundRectPanel {
 
     private static final Logger LOG = LoggerFactory.getLogger(CatalogPanel.class);
 
+    private static final int THUMBNAIL_SIZE = 400;
+    private static final int THUMBNAIL_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
     private AppWindow window;
 
     private RoundRectButton exitButton;
 
     private final JPanel picturesPanel;
 
+    private final ExecutorService thumbnailExecutor;
+    private final Map<JLabel, File> pendingThumbnails;
+    private final List<Future<?>> thumbnailTasks;
+    private final ImageIcon placeholderIcon;
+
     public CatalogPanel(AppWindow window) {
         this.window = window;
         setBackground(Color.LIGHT_GRAY);
 
+        AtomicInteger threadCounter = new AtomicInteger();
+        thumbnailExecutor = Executors.newFixedThreadPool(THUMBNAIL_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-thumbnail-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pendingThumbnails = new LinkedHashMap<>();
+        thumbnailTasks = new ArrayList<>();
+        placeholderIcon = new ImageIcon(createPlaceholder());
+
         RoundButton fileChoiceButton = ComponentFactory.createStandardRoundButton("Upload Image");
         fileChoiceButton.setActionListener(this::handleChoiceButton);
 
@@ -62,6 +94,18 @@ public class CatalogPanel extends RoundRectPanel {
         add(fileChoiceButton, new GBC(0,1).setAnchor(GBC.NORTH).setWeight(0.1,1).setFill(GBC.HORIZONTAL).setInsets(50));
         add(picturesScrollPane, new GBC(1,1).setWeight(0.9,1).setFill(GBC.BOTH).setInsets(10,10,50,10));
 
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent event) {
+                loadPendingThumbnails();
+            }
+
+            @Override
+            public void componentHidden(ComponentEvent event) {
+                cancelThumbnailLoading();
+            }
+        });
+
         loadPictureCatalog();
     }
 
@@ -94,8 +138,7 @@ public class CatalogPanel extends RoundRectPanel {
         picturesPanel.setLayout(new GridBagLayout());
         for (int i = 0; i < imageFiles.size(); i++) {
             JLabel label = new JLabel();
-            Image image = ImageUtil.readImage(imageFiles.get(i));
-            label.setIcon(new ImageIcon(resizeImage(image)));
+            label.setIcon(placeholderIcon);
             label.setBorder(new EmptyBorder(5, 5, 5, 5));
             label.addMouseListener(new HighlightingMouseAdapter(true, false, false));
             final File pictureFile = imageFiles.get(i);
@@ -107,17 +150,98 @@ public class CatalogPanel extends RoundRectPanel {
             });
 
             picturesPanel.add(label, new GBC(i % 3, i / 3).setInsets(10));
+            pendingThumbnails.put(label, pictureFile);
+        }
+
+        loadPendingThumbnails();
+    }
+
+    private void loadPendingThumbnails() {
+        cancelThumbnailLoading();
+        for (Map.Entry<JLabel, File> entry : pendingThumbnails.entrySet()) {
+            JLabel label = entry.getKey();
+            File pictureFile = entry.getValue();
+            thumbnailTasks.add(thumbnailExecutor.submit(() -> loadThumbnail(label, pictureFile)));
+        }
+    }
+
+    private void loadThumbnail(JLabel label, File pictureFile) {
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+
+        CatalogThumbnailCache.CachedThumbnail cached = CatalogThumbnailCache.getInstance().read(pictureFile);
+        if (cached != null) {
+            showThumbnail(label, cached.getImage(), false);
+            if (cached.isValidFor(pictureFile)) {
+                SwingUtilities.invokeLater(() -> pendingThumbnails.remove(label));
+                return;
+            }
+
+            LOG.debug("Cached thumbnail of {} is stale.", pictureFile);
         }
+
+        Image thumbnail = readThumbnail(pictureFile);
+        if (thumbnail == null || Thread.currentThread().isInterrupted()) {
+            return;
+        }
+
+        CatalogThumbnailCache.getInstance().write(pictureFile, thumbnail);
+        showThumbnail(label, thumbnail, true);
+        LOG.debug("Thumbnail of {} loaded.", pictureFile);
+    }
+
+    private Image readThumbnail(File pictureFile) {
+        Dimension size = ImageReadUtil.readSize(pictureFile);
+        if (size != null) {
+            int side = Math.min(size.width, size.height);
+            Rectangle square = new Rectangle((size.width - side) / 2, (size.height - side) / 2, side, side);
+            Image image = ImageReadUtil.readRegion(pictureFile, square, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+            if (image != null) {
+                return ImageUtil.resize(image, THUMBNAIL_SIZE, THUMBNAIL_SIZE, ResizeQuality.HIGH);
+            }
+        }
+
+        Image image = ImageUtil.readImage(pictureFile);
+        return image != null ? resizeImage(image) : null;
+    }
+
+    private void showThumbnail(JLabel label, Image thumbnail, boolean isFinal) {
+        SwingUtilities.invokeLater(() -> {
+            boolean isPending = isFinal ? pendingThumbnails.remove(label) != null : pendingThumbnails.containsKey(label);
+            if (isPending) {
+                label.setIcon(new ImageIcon(thumbnail));
+                label.revalidate();
+                label.repaint();
+            }
+        });
+    }
+
+    public void cancelThumbnailLoading() {
+        for (Future<?> task : thumbnailTasks) {
+            task.cancel(true);
+        }
+
+        thumbnailTasks.clear();
+    }
+
+    private static Image createPlaceholder() {
+        BufferedImage placeholder = new BufferedImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = placeholder.createGraphics();
+        g2.setColor(Color.GRAY);
+        g2.fillRect(0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        g2.dispose();
+        return placeholder;
     }
 
     public Image resizeImage(Image image) {
 
         if (image.getWidth(null) > image.getHeight(null)) {
-            image = ImageUtil.resize(image, 0, 400, ResizeQuality.HIGH);
-            image = ImageUtil.crop(image, 0, (image.getWidth(null) - 400) / 2, 0, (image.getWidth(null) - 400) / 2);
+            image = ImageUtil.resize(image, 0, THUMBNAIL_SIZE, ResizeQuality.HIGH);
+            image = ImageUtil.crop(image, 0, (image.getWidth(null) - THUMBNAIL_SIZE) / 2, 0, (image.getWidth(null) - THUMBNAIL_SIZE) / 2);
         } else {
-            image = ImageUtil.resize(image, 400, 0, ResizeQuality.HIGH);
-            image = ImageUtil.crop(image, (image.getHeight(null) - 400) / 2, 0, (image.getHeight(null) - 400) / 2, 0);
+            image = ImageUtil.resize(image, THUMBNAIL_SIZE, 0, ResizeQuality.HIGH);
+            image = ImageUtil.crop(image, (image.getHeight(null) - THUMBNAIL_SIZE) / 2, 0, (image.getHeight(null) - THUMBNAIL_SIZE) / 2, 0);
         }
 
         return image;
@@ -0,0 +1,230 @@
+package com.pa.view.game;
+
+import com.pa.AppEnv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class CatalogThumbnailCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogThumbnailCache.class);
+
+    private static final int MAGIC = 0x50415448;
+    private static final byte VERSION = 1;
+    private static final String EXTENSION = ".thumb";
+
+    private static final CatalogThumbnailCache INSTANCE = new CatalogThumbnailCache(AppEnv.getThumbnailCacheDirectory(), 64L << 20);
+
+    private final Path directory;
+    private final long maxBytes;
+    private Map<Path, Long> entries;
+    private long usedBytes;
+
+    public CatalogThumbnailCache(File directory, long maxBytes) {
+        this.directory = directory.toPath();
+        this.maxBytes = maxBytes;
+    }
+
+    public static CatalogThumbnailCache getInstance() {
+        return INSTANCE;
+    }
+
+    public CachedThumbnail read(File source) {
+        Path entry = resolve(source);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+                discard(entry);
+                return null;
+            }
+
+            long sourceSize = input.readLong();
+            long sourceModified = input.readLong();
+            BufferedImage image = ImageIO.read(input);
+            if (image == null) {
+                discard(entry);
+                return null;
+            }
+
+            touch(entry);
+            return new CachedThumbnail(image, sourceSize, sourceModified);
+        } catch (IOException e) {
+            LOG.warn("Cannot read the cached thumbnail of {}.", source, e);
+            discard(entry);
+            return null;
+        }
+    }
+
+    public void write(File source, Image thumbnail) {
+        Path entry = resolve(source);
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, "thumbnail", ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeLong(source.length());
+                output.writeLong(source.lastModified());
+                ImageIO.write(toOpaqueImage(thumbnail), "jpg", output);
+            }
+
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            record(entry, Files.size(entry));
+            LOG.debug("Thumbnail of {} stored in the cache.", source);
+        } catch (IOException e) {
+            LOG.warn("Cannot store the thumbnail of {}.", source, e);
+        }
+    }
+
+    private Path resolve(File source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(source.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash) + EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available.", e);
+        }
+    }
+
+    private synchronized void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            if (getEntries().get(entry) == null) {
+                record(entry, Files.size(entry));
+            }
+        } catch (IOException e) {
+            LOG.debug("Cannot refresh the access time of {}.", entry, e);
+        }
+    }
+
+    private synchronized void record(Path entry, long size) {
+        Long previousSize = getEntries().remove(entry);
+        if (previousSize != null) {
+            usedBytes -= previousSize;
+        }
+
+        getEntries().put(entry, size);
+        usedBytes += size;
+        evict(entry);
+    }
+
+    private synchronized void discard(Path entry) {
+        Long size = getEntries().remove(entry);
+        if (size != null) {
+            usedBytes -= size;
+        }
+
+        try {
+            Files.deleteIfExists(entry);
+        } catch (IOException e) {
+            LOG.debug("Cannot delete the cached thumbnail {}.", entry, e);
+        }
+    }
+
+    private void evict(Path retainedEntry) {
+        List<Path> evicted = new ArrayList<>();
+        for (Map.Entry<Path, Long> entry : getEntries().entrySet()) {
+            if (usedBytes <= maxBytes) {
+                break;
+            }
+
+            if (!entry.getKey().equals(retainedEntry)) {
+                evicted.add(entry.getKey());
+                usedBytes -= entry.getValue();
+            }
+        }
+
+        for (Path entry : evicted) {
+            getEntries().remove(entry);
+            try {
+                Files.deleteIfExists(entry);
+                LOG.debug("Cached thumbnail {} evicted.", entry);
+            } catch (IOException e) {
+                LOG.debug("Cannot evict the cached thumbnail {}.", entry, e);
+            }
+        }
+    }
+
+    private Map<Path, Long> getEntries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+            usedBytes = 0;
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.list(directory)) {
+                    files.filter(path -> path.toString().endsWith(EXTENSION))
+                            .map(path -> path.toFile())
+                            .sorted((first, second) -> Long.compare(first.lastModified(), second.lastModified()))
+                            .forEach(file -> {
+                                entries.put(file.toPath(), file.length());
+                                usedBytes += file.length();
+                            });
+                } catch (IOException e) {
+                    LOG.warn("Cannot index the thumbnail cache in {}.", directory, e);
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    private static BufferedImage toOpaqueImage(Image image) {
+        if (image instanceof BufferedImage bufferedImage && bufferedImage.getType() == BufferedImage.TYPE_INT_RGB) {
+            return bufferedImage;
+        }
+
+        BufferedImage opaque = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = opaque.createGraphics();
+        g2.drawImage(image, 0, 0, null);
+        g2.dispose();
+        return opaque;
+    }
+
+    public static class CachedThumbnail {
+
+        private final Image image;
+        private final long sourceSize;
+        private final long sourceModified;
+
+        private CachedThumbnail(Image image, long sourceSize, long sourceModified) {
+            this.image = image;
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+        }
+
+        public Image getImage() {
+            return image;
+        }
+
+        public boolean isValidFor(File source) {
+            return source.length() == sourceSize && source.lastModified() == sourceModified;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.pa.view.game;
+
+import com.pa.controller.GameCreatorController;
+import com.pa.model.creator.BuildStage;
+import com.pa.model.game.Game;
+import com.pa.view.AppWindow;
+import com.pa.view.icon.CompatibleImageConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingWorker;
+import java.awt.GraphicsConfiguration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+public class GameBuildWorker extends SwingWorker<Game, BuildStage> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameBuildWorker.class);
+
+    private final AppWindow window;
+    private final GameCreatorController creatorController;
+    private final Consumer<BuildStage> stageAction;
+    private final Runnable finishingAction;
+    private final GraphicsConfiguration graphicsConfiguration;
+
+    public GameBuildWorker(AppWindow window, GameCreatorController creatorController, Consumer<BuildStage> stageAction, Runnable finishingAction) {
+        this.window = window;
+        this.creatorController = creatorController;
+        this.stageAction = stageAction;
+        this.finishingAction = finishingAction;
+        this.graphicsConfiguration = window.getGraphicsConfiguration();
+    }
+
+    @Override
+    protected Game doInBackground() throws Exception {
+        long start = System.nanoTime();
+        Game game = creatorController.buildGame(this::publish, this::isCancelled);
+        CompatibleImageConverter.convertImage(game.getPuzzleData(), graphicsConfiguration);
+        LOG.info("Game built in {} ms.", (System.nanoTime() - start) / 1_000_000);
+        return game;
+    }
+
+    @Override
+    protected void process(List<BuildStage> stages) {
+        stageAction.accept(stages.get(stages.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+        finishingAction.run();
+        if (isCancelled()) {
+            return;
+        }
+
+        try {
+            window.loadGame(get());
+        } catch (CancellationException e) {
+            LOG.info("Game building cancelled.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("Cannot build a game.", e.getCause());
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.pa.view.game;
 
 import com.gutil.gui.GBC;
+import com.gutil.gui.ImageReadUtil;
 import com.gutil.gui.ImageUtil;
 import com.gutil.gui.ResizeQuality;
 import com.gutil.gui.component.CustomSlider;
@@ -10,8 +11,8 @@ import com.gutil.gui.component.button.RoundButton;
 import com.gutil.gui.component.panel.RoundRectPanel;
 import com.pa.AppEnv;
 import com.pa.controller.GameCreatorController;
+import com.pa.model.creator.BuildStage;
 import com.pa.model.creator.factory.PieceShape;
-import com.pa.model.game.Game;
 import com.pa.view.AppWindow;
 import com.pa.view.ComponentFactory;
 import org.slf4j.Logger;
@@ -31,6 +32,8 @@ public class GameCreatorPanel extends RoundRectPanel {
 
     private static final Logger LOG = LoggerFactory.getLogger(GameCreatorPanel.class);
 
+    private static final int PREVIEW_WIDTH = 600;
+
     private final AppWindow window;
 
     private final GameCreatorController creatorController;
@@ -47,6 +50,12 @@ public class GameCreatorPanel extends RoundRectPanel {
 
     private PieceShape shapeFlag;
 
+    private final RoundButton buildGameButton;
+    private final RoundButton cancelBuildButton;
+    private final JLabel buildStatus;
+    private GameBuildWorker buildWorker;
+    private GameResumeWorker resumeWorker;
+
     public GameCreatorPanel(AppWindow window) {
         this.window = window;
         setBackground(Color.LIGHT_GRAY);
@@ -62,6 +71,9 @@ public class GameCreatorPanel extends RoundRectPanel {
             }
         });
 
+        RoundButton resumeGameButton = ComponentFactory.createStandardRoundButton("Resume Game");
+        resumeGameButton.setActionListener(this::resumeGame);
+
         imagePath = new JLabel();
         imagePath.setForeground(Color.LIGHT_GRAY);
         imageDisplay = new JLabel("Upload an image or go back to the photo catalog.");
@@ -86,8 +98,8 @@ public class GameCreatorPanel extends RoundRectPanel {
         JLabel shapeLabel = new JLabel("Pick shape");
         shapeLabel.setForeground(Color.LIGHT_GRAY);
 
-        rowsSlider = new CustomSlider(1, 50, 10);
-        columnsSlider = new CustomSlider(1, 50, 10);
+        rowsSlider = new CustomSlider(1, 150, 10);
+        columnsSlider = new CustomSlider(1, 150, 10);
 
         Image rectangle = ImageUtil.readImage(new File(AppEnv.getImageResourceDirectory(), "rectShape.png"));
         Image classic = ImageUtil.readImage(new File(AppEnv.getImageResourceDirectory(), "classicShape.png"));
@@ -121,43 +133,96 @@ public class GameCreatorPanel extends RoundRectPanel {
         gameParametersPanel.add(rectangleShape, new GBC(1,2).setAnchor(GBC.WEST));
         gameParametersPanel.add(classicShape, new GBC(2,2).setAnchor(GBC.WEST));
 
-        RoundButton buildGameButton = ComponentFactory.createStandardRoundButton("Build Game");
+        buildGameButton = ComponentFactory.createStandardRoundButton("Build Game");
         buildGameButton.updateButtonColors(new Color(80,20,20), Color.LIGHT_GRAY, Color.GRAY);
         buildGameButton.setActionListener(this::buildGame);
 
+        cancelBuildButton = ComponentFactory.createStandardRoundButton("Cancel");
+        cancelBuildButton.setActionListener(this::cancelBuilding);
+        cancelBuildButton.setVisible(false);
+
+        buildStatus = new JLabel();
+        buildStatus.setForeground(Color.DARK_GRAY);
+
         setLayout(new GridBagLayout());
         add(chooseImageButton, new GBC(0,0).setAnchor(GBC.NORTH).setInsets(50));
+        add(resumeGameButton, new GBC(0,1).setAnchor(GBC.NORTH).setInsets(0, 50, 50, 50));
         add(displayPanel, new GBC(1,0).setWeight(0.5, 1).setFill(GBC.BOTH).setInsets(20));
         add(gameParametersPanel, new GBC(1, 1).setFill(GBC.BOTH).setInsets(20));
         add(buildGameButton, new GBC(1,2).setAnchor(GBC.NORTH).setInsets(20));
+        add(cancelBuildButton, new GBC(1,2).setAnchor(GBC.NORTH).setInsets(20));
+        add(buildStatus, new GBC(1,3).setAnchor(GBC.NORTH).setInsets(0, 20, 20, 20));
 
     }
 
     private void buildGame(ActionEvent actionEvent) {
-        try {
-            creatorController.setRows(rowsSlider.getValue());
-            creatorController.setColumns(columnsSlider.getValue());
-            creatorController.setShape(shapeFlag);
-            creatorController.setMaxPuzzleWidth((int) (0.8 * (getWidth() - 60)));
-            creatorController.setMaxPuzzleHeight((int) (0.8 * (getHeight() - 60)));
-
-            Game game = creatorController.buildGame();
-            window.loadGame(game);
-        } catch (Exception e) {
-            LOG.error("Cannot build a game.", e);
+        if (buildWorker != null && !buildWorker.isDone()) {
+            return;
         }
+
+        creatorController.setRows(rowsSlider.getValue());
+        creatorController.setColumns(columnsSlider.getValue());
+        creatorController.setShape(shapeFlag);
+        creatorController.setMaxPuzzleWidth((int) (0.8 * (getWidth() - 60)));
+        creatorController.setMaxPuzzleHeight((int) (0.8 * (getHeight() - 60)));
+
+        buildWorker = new GameBuildWorker(window, creatorController, this::showBuildStage, this::finishBuilding);
+        buildGameButton.setVisible(false);
+        cancelBuildButton.setVisible(true);
+        buildStatus.setText("Building the game...");
+        buildWorker.execute();
+    }
+
+    private void resumeGame(ActionEvent actionEvent) {
+        if (resumeWorker != null && !resumeWorker.isDone()) {
+            return;
+        }
+
+        File savedGame = AppEnv.getSavedGameFile();
+        if (!window.getStorageController().hasSavedGame(savedGame)) {
+            buildStatus.setText("There is no saved game.");
+            return;
+        }
+
+        resumeWorker = new GameResumeWorker(window, savedGame, AppEnv.getMoveJournalFile(), () -> buildStatus.setText(null),
+                () -> buildStatus.setText("Cannot resume the saved game."));
+        buildStatus.setText("Resuming the game...");
+        resumeWorker.execute();
+    }
+
+    private void cancelBuilding(ActionEvent actionEvent) {
+        if (buildWorker != null) {
+            buildWorker.cancel(false);
+            buildStatus.setText("Cancelling...");
+        }
+    }
+
+    private void showBuildStage(BuildStage stage) {
+        if (buildWorker != null && !buildWorker.isCancelled()) {
+            buildStatus.setText(stage.getDescription() + "...");
+        }
+    }
+
+    private void finishBuilding() {
+        buildGameButton.setVisible(true);
+        cancelBuildButton.setVisible(false);
+        buildStatus.setText(null);
     }
 
     public void setImage(File imageFile) {
-        Image image = ImageUtil.readImage(imageFile);
+        Image preview = ImageReadUtil.readSubsampled(imageFile, PREVIEW_WIDTH, 0);
+        if (preview == null && imageFile != null) {
+            preview = ImageUtil.readImage(imageFile);
+        }
+
         imagePath.setText(imageFile != null ? imageFile.getAbsolutePath() : "No image");
-        Image imageIcon = ImageUtil.resize(image, 600, 0, ResizeQuality.HIGH);
+        Image imageIcon = preview != null ? ImageUtil.resize(preview, PREVIEW_WIDTH, 0, ResizeQuality.HIGH) : null;
         imageDisplay.setIcon(imageIcon != null ? new ImageIcon(imageIcon) : null);
         imageDisplay.setText(null);
 
-        editPictureButton.setVisible(image != null);
+        editPictureButton.setVisible(preview != null);
 
-        creatorController.setImage(image);
+        creatorController.setImageFile(preview != null ? imageFile : null);
     }
 
     private void setShapeIconsColors (boolean classicOn, boolean rectangularOn) {
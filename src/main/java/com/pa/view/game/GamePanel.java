@@ -1,49 +1,120 @@
 package com.pa.view.game;
 
+import com.pa.AppEnv;
+import com.pa.controller.PAControllerException;
 import com.pa.controller.PuzzleController;
 import com.pa.controller.PuzzleIconDragMouseAdapter;
+import com.pa.metrics.PuzzleMetrics;
+import com.pa.model.game.MoveRecord;
+import com.pa.model.game.MoveResult;
 import com.pa.model.puzzle.PuzzleFragment;
+import com.pa.model.puzzle.PuzzlePiece;
 import com.pa.view.AppWindow;
+import com.pa.view.icon.DragOverlay;
+import com.pa.view.icon.FragmentSpriteCache;
 import com.pa.view.icon.PuzzleIcon;
 import com.pa.view.icon.PuzzleIconFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
+import javax.swing.Timer;
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Graphics;
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class GamePanel extends JPanel {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GamePanel.class);
+
+    private static final int FRAME_TIME_SAMPLE_SIZE = 120;
+    private static final int DEFAULT_CULLING_THRESHOLD = 2500;
+    private static final int DRAG_OVERLAY_LAYER = Integer.MAX_VALUE;
+
     private final AppWindow parent;
 
     private final PuzzleController puzzleController;
 
-    private List<PuzzleIcon> icons;
+    private final Map<Integer, PuzzleIcon> icons;
+    private final Deque<PuzzleIcon> recycledIcons;
 
     private Point offset;
     private JPanel imageBoard;
     private GamePanelConsole console;
 
     private JLayeredPane mainPanel;
+    private BoardCanvas boardCanvas;
+    private DragOverlay dragOverlay;
+    private boolean useDragOverlay;
+
+    private BoardRendererType rendererType;
+    private int cullingThreshold;
+
+    private SessionReplay sessionReplay;
+
+    private long frameTimeTotal;
+    private long frameTimeMax;
+    private int frameCount;
 
     public GamePanel(AppWindow parent) {
         setBackground(Color.BLACK);
 
         offset = new Point(0, 0);
+        icons = new HashMap<>();
+        recycledIcons = new ArrayDeque<>();
+        cullingThreshold = DEFAULT_CULLING_THRESHOLD;
+        rendererType = BoardRendererType.fromSystemProperty();
+        useDragOverlay = Boolean.parseBoolean(System.getProperty("pa.dragOverlay", "true"));
 
         this.parent = parent;
         puzzleController = parent.getPuzzleController();
-        puzzleController.setGamePanel(this);
         puzzleController.setOffsetSupplier(this::getOffset);
 
-        mainPanel = new JLayeredPane();
+        mainPanel = new JLayeredPane() {
+            @Override
+            public void paint(Graphics g) {
+                long start = System.nanoTime();
+                super.paint(g);
+                recordFrameTime(System.nanoTime() - start);
+            }
+        };
         mainPanel.setLayout(null);
+        mainPanel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent event) {
+                boardCanvas.setBounds(0, 0, mainPanel.getWidth(), mainPanel.getHeight());
+                dragOverlay.setBounds(0, 0, mainPanel.getWidth(), mainPanel.getHeight());
+            }
+        });
+
+        MouseAdapter panningAdapter = new BoardPanningMouseAdapter();
+        mainPanel.addMouseListener(panningAdapter);
+        mainPanel.addMouseMotionListener(panningAdapter);
 
         imageBoard = new JPanel();
         imageBoard.setBackground(new Color(60, 60, 60));
 
+        boardCanvas = new BoardCanvas(puzzleController);
+        boardCanvas.setPanningAction(this::pan);
+
+        dragOverlay = new DragOverlay();
+
         console = new GamePanelConsole(this);
 
         setLayout(new BorderLayout());
@@ -55,6 +126,61 @@ public class GamePanel extends JPanel {
         return puzzleController;
     }
 
+    public void setCullingThreshold(int cullingThreshold) {
+        this.cullingThreshold = cullingThreshold;
+    }
+
+    public BoardRendererType getRendererType() {
+        return rendererType;
+    }
+
+    public void setRendererType(BoardRendererType rendererType) {
+        this.rendererType = rendererType;
+        if (puzzleController.getImage() != null) {
+            reload();
+        }
+    }
+
+    public boolean isCulling() {
+        PuzzlePiece[][] pieces = puzzleController.getPieces();
+        return rendererType == BoardRendererType.ICONS && pieces.length > 0 && pieces.length * pieces[0].length > cullingThreshold;
+    }
+
+    public void replay(List<MoveRecord> moves, double speed, Runnable finishingAction) {
+        stopReplay();
+        sessionReplay = new SessionReplay(moves, speed, finishingAction);
+        sessionReplay.start();
+    }
+
+    public void replayLatestSession() {
+        parent.replayLatestSession(Double.parseDouble(System.getProperty("pa.replaySpeed", "1")));
+    }
+
+    public void stopReplay() {
+        if (sessionReplay != null) {
+            sessionReplay.stop();
+            sessionReplay = null;
+        }
+    }
+
+    private void refreshAfterMove(MoveResult result) {
+        if (result.getType() == MoveResult.Type.REGULARIZED) {
+            reload();
+        } else if (rendererType == BoardRendererType.CANVAS) {
+            boardCanvas.refresh();
+        } else {
+            reconcile(result);
+        }
+    }
+
+    public void saveGame() {
+        try {
+            parent.getStorageController().saveGame(parent.getCurrentGame(), AppEnv.getSavedGameFile());
+        } catch (PAControllerException e) {
+            LOG.error("Cannot save the game.", e);
+        }
+    }
+
     public void regularize() {
         puzzleController.regularizePieces(getBounds(), getOffset());
         reload();
@@ -62,6 +188,7 @@ public class GamePanel extends JPanel {
 
     public void reset() {
         mainPanel.removeAll();
+        FragmentSpriteCache.getInstance().clear();
 
         int panelWidth = getWidth();
         int panelHeight = getHeight();
@@ -72,33 +199,198 @@ public class GamePanel extends JPanel {
     }
 
     public void reload() {
+        long start = System.nanoTime();
+        reloadBoard();
+        PuzzleMetrics.getInstance().recordReload(System.nanoTime() - start);
+    }
+
+    private void reloadBoard() {
         mainPanel.removeAll();
+        if (rendererType == BoardRendererType.CANVAS) {
+            icons.clear();
+            recycledIcons.clear();
+            boardCanvas.setBounds(0, 0, mainPanel.getWidth(), mainPanel.getHeight());
+            mainPanel.add(boardCanvas, 1, 0);
+            boardCanvas.reload();
+            return;
+        }
+
         int imageWidth = puzzleController.getImage().getWidth(null);
         int imageHeight = puzzleController.getImage().getHeight(null);
         imageBoard.setBounds(-offset.x, -offset.y, imageWidth, imageHeight);
         mainPanel.add(imageBoard, 1, 0);
+        if (useDragOverlay) {
+            dragOverlay.setBounds(0, 0, mainPanel.getWidth(), mainPanel.getHeight());
+            mainPanel.add(dragOverlay, DRAG_OVERLAY_LAYER, 0);
+        }
         reloadIcons();
     }
 
     private void reloadIcons() {
-        icons = PuzzleIconFactory.createPuzzleIcons(puzzleController.getFragments(true), puzzleController.getImage());
-        for (PuzzleIcon icon : icons) {
+        icons.clear();
+        recycledIcons.clear();
+        if (isCulling()) {
+            refreshVisibleIcons();
+        } else {
+            for (PuzzleIcon icon : PuzzleIconFactory.createPuzzleIcons(puzzleController.getFragments(true), puzzleController.getImage())) {
+                addIcon(icon);
+            }
+        }
+
+        repaint();
+    }
+
+    private void refreshVisibleIcons() {
+        Rectangle viewport = getViewport();
+        Set<Integer> visibleFragmentIds = new HashSet<>();
+        for (PuzzleFragment fragment : puzzleController.getFragments(true)) {
+            if (fragment.countPieces() == 0 || !viewport.intersects(getFragmentArea(fragment))) {
+                continue;
+            }
+
+            visibleFragmentIds.add(fragment.getId());
+            PuzzleIcon icon = icons.get(fragment.getId());
+            if (icon == null) {
+                addIcon(acquireIcon(fragment));
+            } else {
+                placeIcon(icon);
+            }
+        }
+
+        Iterator<Map.Entry<Integer, PuzzleIcon>> iterator = icons.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, PuzzleIcon> entry = iterator.next();
+            if (!visibleFragmentIds.contains(entry.getKey())) {
+                iterator.remove();
+                releaseIcon(entry.getValue());
+            }
+        }
+    }
+
+    public void reconcile(MoveResult result) {
+        for (int removedFragmentId : result.getRemovedFragmentIds()) {
+            PuzzleIcon icon = icons.remove(removedFragmentId);
+            if (icon != null) {
+                FragmentSpriteCache.getInstance().invalidate(icon.getFragment());
+                releaseIcon(icon);
+            }
+        }
+
+        PuzzleFragment fragment = puzzleController.getFragment(result.getResultingFragmentId());
+        if (fragment == null) {
+            return;
+        }
+
+        PuzzleIcon icon = icons.get(fragment.getId());
+        if (isCulling() && !getViewport().intersects(getFragmentArea(fragment))) {
+            if (icon != null) {
+                icons.remove(fragment.getId());
+                releaseIcon(icon);
+            }
+            return;
+        }
+
+        if (icon == null) {
+            addIcon(acquireIcon(fragment));
+            return;
+        }
+
+        Rectangle previousBounds = icon.getBounds();
+        placeIcon(icon);
+        mainPanel.setLayer(icon, getLayer(fragment), 0);
+        mainPanel.repaint(previousBounds);
+        icon.repaint();
+    }
+
+    private PuzzleIcon acquireIcon(PuzzleFragment fragment) {
+        PuzzleIcon icon = recycledIcons.poll();
+        if (icon == null) {
+            return PuzzleIconFactory.createPuzzleIcon(fragment, puzzleController.getImage());
+        }
+
+        PuzzleIconFactory.bindPuzzleIcon(icon, fragment);
+        return icon;
+    }
+
+    private void releaseIcon(PuzzleIcon icon) {
+        Rectangle iconBounds = icon.getBounds();
+        mainPanel.remove(icon);
+        mainPanel.repaint(iconBounds);
+        if (isCulling()) {
+            recycledIcons.push(icon);
+        }
+    }
+
+    private void addIcon(PuzzleIcon icon) {
+        if (icon.getMouseListeners().length == 0) {
             PuzzleIconDragMouseAdapter adapter = new PuzzleIconDragMouseAdapter(icon, puzzleController);
-            adapter.setIconRebuildingAction(this::reload);
+            adapter.setIconReconcilingAction(this::reconcile);
+            if (useDragOverlay) {
+                adapter.setDragOverlay(dragOverlay);
+            }
             icon.addMouseListener(adapter);
             icon.addMouseMotionListener(adapter);
+        }
 
-            PuzzleFragment fragment = icon.getFragment();
-            if (fragment.getPieces().length == 0) {
-                continue;
+        PuzzleFragment fragment = icon.getFragment();
+        if (fragment.countPieces() == 0) {
+            return;
+        }
+
+        icons.put(fragment.getId(), icon);
+        placeIcon(icon);
+        mainPanel.add(icon, getLayer(fragment), 0);
+    }
+
+    private void placeIcon(PuzzleIcon icon) {
+        PuzzleFragment fragment = icon.getFragment();
+        Point piecePosition = puzzleController.getFragmentPosition(fragment);
+        Rectangle fragmentBounds = fragment.getBounds();
+        icon.setBounds(piecePosition.x - offset.x, piecePosition.y - offset.y, fragmentBounds.width + 1, fragmentBounds.height + 1);
+    }
+
+    private Rectangle getFragmentArea(PuzzleFragment fragment) {
+        Rectangle fragmentBounds = fragment.getBounds();
+        return new Rectangle(fragment.getX(), fragment.getY(), fragmentBounds.width + 1, fragmentBounds.height + 1);
+    }
+
+    private Rectangle getViewport() {
+        return new Rectangle(offset.x, offset.y, mainPanel.getWidth(), mainPanel.getHeight());
+    }
+
+    private void pan(int dx, int dy) {
+        offset.translate(-dx, -dy);
+        imageBoard.setLocation(-offset.x, -offset.y);
+        if (rendererType == BoardRendererType.CANVAS) {
+            boardCanvas.repaint();
+            return;
+        }
+
+        if (isCulling()) {
+            refreshVisibleIcons();
+        } else {
+            for (PuzzleIcon icon : icons.values()) {
+                placeIcon(icon);
             }
+        }
 
-            Point piecePosition = puzzleController.getFragmentPosition(fragment);
-            icon.setBounds(piecePosition.x - offset.x, piecePosition.y - offset.y, fragment.getShape().getBounds().width + 1, fragment.getShape().getBounds().height + 1);
-            mainPanel.add(icon, fragment.isFinalized() ? 1 : Integer.MAX_VALUE - fragment.countPieces(), 0);
+        mainPanel.repaint();
+    }
+
+    private void recordFrameTime(long nanos) {
+        frameTimeTotal += nanos;
+        frameTimeMax = Math.max(frameTimeMax, nanos);
+        if (++frameCount == FRAME_TIME_SAMPLE_SIZE) {
+            LOG.debug("{} renderer painted {} frames in {} ms on average, {} ms at most.", rendererType, frameCount,
+                    String.format("%.2f", frameTimeTotal / 1e6 / frameCount), String.format("%.2f", frameTimeMax / 1e6));
+            frameTimeTotal = 0;
+            frameTimeMax = 0;
+            frameCount = 0;
         }
+    }
 
-        repaint();
+    private static int getLayer(PuzzleFragment fragment) {
+        return fragment.isFinalized() ? 1 : Integer.MAX_VALUE - fragment.countPieces();
     }
 
     public Point getOffset() {
@@ -109,4 +401,117 @@ public class GamePanel extends JPanel {
         return offset;
     }
 
+    private class SessionReplay {
+
+        private static final int MAX_DELAY = 2000;
+
+        private final List<MoveRecord> moves;
+        private final double speed;
+        private final Runnable finishingAction;
+        private final long[] engineNanos;
+        private final long[] viewNanos;
+        private final Timer timer;
+        private int index;
+
+        private SessionReplay(List<MoveRecord> moves, double speed, Runnable finishingAction) {
+            this.moves = moves;
+            this.speed = speed;
+            this.finishingAction = finishingAction;
+            this.engineNanos = new long[moves.size()];
+            this.viewNanos = new long[moves.size()];
+            this.timer = new Timer(0, event -> step());
+            this.timer.setRepeats(false);
+        }
+
+        private void start() {
+            LOG.info("Replaying {} move(-s) at {}x speed.", moves.size(), speed > 0 ? speed : "maximum");
+            if (moves.isEmpty()) {
+                finish();
+                return;
+            }
+
+            schedule(0);
+        }
+
+        private void stop() {
+            timer.stop();
+        }
+
+        private void step() {
+            if (index >= moves.size()) {
+                return;
+            }
+
+            MoveRecord record = moves.get(index);
+            long start = System.nanoTime();
+            MoveResult result = puzzleController.replay(record);
+            long moved = System.nanoTime();
+            refreshAfterMove(result);
+            engineNanos[index] = moved - start;
+            viewNanos[index] = System.nanoTime() - moved;
+
+            if (++index == moves.size()) {
+                report();
+                finish();
+                return;
+            }
+
+            long pause = moves.get(index).getTimestampMillis() - record.getTimestampMillis();
+            schedule(speed > 0 ? (int) Math.max(0, Math.min(MAX_DELAY, pause / speed)) : 0);
+        }
+
+        private void finish() {
+            if (sessionReplay == this) {
+                sessionReplay = null;
+            }
+
+            finishingAction.run();
+        }
+
+        private void schedule(int delay) {
+            timer.setInitialDelay(delay);
+            timer.restart();
+        }
+
+        private void report() {
+            Arrays.sort(engineNanos);
+            Arrays.sort(viewNanos);
+            LOG.info("Replayed {} move(-s). Engine p50={} us, p99={} us, max={} us. View p50={} us, p99={} us, max={} us.", moves.size(),
+                    percentile(engineNanos, 50), percentile(engineNanos, 99), percentile(engineNanos, 100),
+                    percentile(viewNanos, 50), percentile(viewNanos, 99), percentile(viewNanos, 100));
+        }
+
+        private static long percentile(long[] sortedNanos, double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1000;
+        }
+
+    }
+
+    private class BoardPanningMouseAdapter extends MouseAdapter {
+
+        private Point lastPoint;
+
+        @Override
+        public void mousePressed(MouseEvent event) {
+            lastPoint = event.getPoint();
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent event) {
+            if (lastPoint == null || puzzleController.getImage() == null) {
+                return;
+            }
+
+            pan(event.getX() - lastPoint.x, event.getY() - lastPoint.y);
+            lastPoint = event.getPoint();
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent event) {
+            lastPoint = null;
+        }
+
+    }
+
 }
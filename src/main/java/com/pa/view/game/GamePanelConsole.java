@@ -22,11 +22,43 @@ public class GamePanelConsole extends JPanel {
             }
         });
 
+        JButton switchRenderer = new JButton("Switch Renderer");
+        switchRenderer.setAction(new AbstractAction("Switch Renderer") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                handleSwitchRendererButton();
+            }
+        });
+
+        JButton save = new JButton("Save Game");
+        save.setAction(new AbstractAction("Save Game") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gamePanel.saveGame();
+            }
+        });
+
+        JButton replay = new JButton("Replay Session");
+        replay.setAction(new AbstractAction("Replay Session") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gamePanel.replayLatestSession();
+            }
+        });
+
         add(regularize);
+        add(save);
+        add(replay);
+        add(switchRenderer);
     }
 
     private void handleRegularizeButton() {
         gamePanel.regularize();
     }
 
+    private void handleSwitchRendererButton() {
+        BoardRendererType current = gamePanel.getRendererType();
+        gamePanel.setRendererType(current == BoardRendererType.ICONS ? BoardRendererType.CANVAS : BoardRendererType.ICONS);
+    }
+
 }
@@ -0,0 +1,59 @@
+package com.pa.view.game;
+
+import com.pa.controller.GameStorageController;
+import com.pa.model.game.Game;
+import com.pa.view.AppWindow;
+import com.pa.view.icon.CompatibleImageConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingWorker;
+import java.awt.GraphicsConfiguration;
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+
+public class GameResumeWorker extends SwingWorker<Game, Void> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameResumeWorker.class);
+
+    private final AppWindow window;
+    private final GameStorageController storageController;
+    private final File savedGame;
+    private final File journalFile;
+    private final Runnable finishingAction;
+    private final Runnable failureAction;
+    private final GraphicsConfiguration graphicsConfiguration;
+
+    public GameResumeWorker(AppWindow window, File savedGame, File journalFile, Runnable finishingAction, Runnable failureAction) {
+        this.window = window;
+        this.storageController = window.getStorageController();
+        this.savedGame = savedGame;
+        this.journalFile = journalFile;
+        this.finishingAction = finishingAction;
+        this.failureAction = failureAction;
+        this.graphicsConfiguration = window.getGraphicsConfiguration();
+    }
+
+    @Override
+    protected Game doInBackground() throws Exception {
+        long start = System.nanoTime();
+        Game game = storageController.resumeGame(savedGame, journalFile);
+        CompatibleImageConverter.convertImage(game.getPuzzleData(), graphicsConfiguration);
+        LOG.info("Game resumed in {} ms.", (System.nanoTime() - start) / 1_000_000);
+        return game;
+    }
+
+    @Override
+    protected void done() {
+        finishingAction.run();
+        try {
+            window.resumeGame(get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("Cannot resume the game.", e.getCause());
+            failureAction.run();
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.pa.view.game;
+
+import com.pa.AppEnv;
+import com.pa.controller.GameStorageController;
+import com.pa.model.save.RecordedSession;
+import com.pa.view.AppWindow;
+import com.pa.view.icon.CompatibleImageConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingWorker;
+import java.awt.GraphicsConfiguration;
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+
+public class SessionLoadWorker extends SwingWorker<RecordedSession, Void> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionLoadWorker.class);
+
+    private final AppWindow window;
+    private final GameStorageController storageController;
+    private final double speed;
+    private final GraphicsConfiguration graphicsConfiguration;
+
+    public SessionLoadWorker(AppWindow window, double speed) {
+        this.window = window;
+        this.storageController = window.getStorageController();
+        this.speed = speed;
+        this.graphicsConfiguration = window.getGraphicsConfiguration();
+    }
+
+    @Override
+    protected RecordedSession doInBackground() throws Exception {
+        File[] session = storageController.findLatestSession(AppEnv.getSessionDirectory());
+        if (session == null) {
+            LOG.warn("There is no recorded session in {}.", AppEnv.getSessionDirectory());
+            return null;
+        }
+
+        RecordedSession recordedSession = storageController.loadSession(session[0], session[1]);
+        CompatibleImageConverter.convertImage(recordedSession.getGame().getPuzzleData(), graphicsConfiguration);
+        return recordedSession;
+    }
+
+    @Override
+    protected void done() {
+        try {
+            RecordedSession recordedSession = get();
+            if (recordedSession != null) {
+                window.replaySession(recordedSession, speed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("Cannot replay the session.", e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.pa.view.icon;
+
+import com.pa.model.puzzle.PuzzleData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+
+public class CompatibleImageConverter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompatibleImageConverter.class);
+
+    public static void convertImage(PuzzleData data, GraphicsConfiguration configuration) {
+        data.setImage(convert(data.getImage(), configuration));
+    }
+
+    public static BufferedImage convert(Image image, GraphicsConfiguration configuration) {
+        if (image == null) {
+            return null;
+        }
+
+        boolean hasAlpha = !(image instanceof BufferedImage bufferedImage) || bufferedImage.getColorModel().hasAlpha();
+        int transparency = hasAlpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE;
+        GraphicsConfiguration targetConfiguration = configuration != null ? configuration : getDefaultConfiguration();
+
+        if (image instanceof BufferedImage bufferedImage && isCompatible(bufferedImage, targetConfiguration, transparency)) {
+            return bufferedImage;
+        }
+
+        long start = System.nanoTime();
+        int width = image.getWidth(null);
+        int height = image.getHeight(null);
+        BufferedImage converted = targetConfiguration != null && !hasAlpha
+                ? targetConfiguration.createCompatibleImage(width, height, transparency)
+                : new BufferedImage(width, height, hasAlpha ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2 = converted.createGraphics();
+        g2.drawImage(image, 0, 0, null);
+        g2.dispose();
+
+        LOG.debug("Image {}x{} of type {} converted to type {} in {} ms.", width, height,
+                image instanceof BufferedImage bufferedImage ? bufferedImage.getType() : image.getClass().getSimpleName(),
+                converted.getType(), (System.nanoTime() - start) / 1_000_000);
+        return converted;
+    }
+
+    // Translucent images are always kept premultiplied: most configurations report the non-premultiplied default RGB
+    // model for TRANSLUCENT, which blends slower than TYPE_INT_ARGB_PRE.
+    private static boolean isCompatible(BufferedImage image, GraphicsConfiguration configuration, int transparency) {
+        if (transparency != Transparency.OPAQUE) {
+            return image.getType() == BufferedImage.TYPE_INT_ARGB_PRE;
+        }
+
+        if (configuration == null) {
+            return image.getType() == BufferedImage.TYPE_INT_RGB;
+        }
+
+        ColorModel compatibleModel = configuration.getColorModel(transparency);
+        return compatibleModel.equals(image.getColorModel());
+    }
+
+    private static GraphicsConfiguration getDefaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+}
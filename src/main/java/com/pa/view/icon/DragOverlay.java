@@ -0,0 +1,128 @@
+package com.pa.view.icon;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+public class DragOverlay extends JComponent {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DragOverlay.class);
+
+    private static final int FRAME_INTERVAL = 16;
+
+    private final Timer frameTimer;
+
+    private PuzzleIcon liftedIcon;
+    private BufferedImage sprite;
+    private Rectangle spriteBounds;
+    private Point pendingLocation;
+    private long pendingSince;
+    private long paintRequestedSince;
+
+    private int frames;
+    private long totalLatency;
+    private long maxLatency;
+
+    public DragOverlay() {
+        setOpaque(false);
+        frameTimer = new Timer(FRAME_INTERVAL, event -> applyPendingLocation());
+        frameTimer.setCoalesce(true);
+    }
+
+    public void lift(PuzzleIcon icon) {
+        if (liftedIcon != null) {
+            drop();
+        }
+
+        liftedIcon = icon;
+        sprite = icon.getSprite();
+        spriteBounds = icon.getBounds();
+        pendingLocation = null;
+        pendingSince = 0;
+        paintRequestedSince = 0;
+        frames = 0;
+        totalLatency = 0;
+        maxLatency = 0;
+
+        icon.setLifted(true);
+        repaint(spriteBounds);
+        frameTimer.start();
+    }
+
+    public void moveTo(int x, int y) {
+        if (liftedIcon == null) {
+            return;
+        }
+
+        pendingLocation = new Point(x, y);
+        if (pendingSince == 0) {
+            pendingSince = System.nanoTime();
+        }
+    }
+
+    public Point drop() {
+        if (liftedIcon == null) {
+            return null;
+        }
+
+        frameTimer.stop();
+        if (pendingLocation != null) {
+            spriteBounds.setLocation(pendingLocation);
+        }
+
+        Point location = spriteBounds.getLocation();
+        repaint(spriteBounds);
+        if (frames > 0) {
+            LOG.debug("Dragged {} over {} frame(-s). Motion-to-paint latency: average {} ms, max {} ms.", liftedIcon.getFragment(), frames,
+                    String.format("%.2f", totalLatency / 1e6 / frames), String.format("%.2f", maxLatency / 1e6));
+        }
+
+        liftedIcon.setLocation(location);
+        liftedIcon.setLifted(false);
+        liftedIcon = null;
+        sprite = null;
+        pendingLocation = null;
+        return location;
+    }
+
+    public boolean isLifting(PuzzleIcon icon) {
+        return liftedIcon == icon;
+    }
+
+    private void applyPendingLocation() {
+        if (pendingLocation == null || liftedIcon == null) {
+            return;
+        }
+
+        Rectangle dirtyArea = new Rectangle(spriteBounds);
+        spriteBounds.setLocation(pendingLocation);
+        dirtyArea.add(spriteBounds);
+        paintRequestedSince = pendingSince;
+        pendingLocation = null;
+        pendingSince = 0;
+        repaint(dirtyArea);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (sprite == null) {
+            return;
+        }
+
+        g.drawImage(sprite, spriteBounds.x, spriteBounds.y, null);
+        if (paintRequestedSince != 0) {
+            long latency = System.nanoTime() - paintRequestedSince;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+            ++frames;
+            paintRequestedSince = 0;
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.pa.view.icon;
+
+import com.pa.model.puzzle.PuzzleFragment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FragmentSpriteCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FragmentSpriteCache.class);
+
+    private static final FragmentSpriteCache INSTANCE = new FragmentSpriteCache(Math.min(Runtime.getRuntime().maxMemory() / 4, 256L << 20));
+
+    private final Map<Integer, Sprite> sprites;
+    private final long maxBytes;
+    private long usedBytes;
+
+    public FragmentSpriteCache(long maxBytes) {
+        this.sprites = new LinkedHashMap<>(16, 0.75f, true);
+        this.maxBytes = maxBytes;
+    }
+
+    public static FragmentSpriteCache getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized BufferedImage getSprite(PuzzleFragment fragment, Image image, boolean drawBorder, GraphicsConfiguration configuration) {
+        Sprite sprite = sprites.get(fragment.getId());
+        if (sprite != null && sprite.isValidFor(fragment, image, drawBorder)) {
+            return sprite.image;
+        }
+
+        if (sprite != null) {
+            remove(fragment.getId());
+        }
+
+        BufferedImage rendered = render(fragment, image, drawBorder, configuration);
+        sprite = new Sprite(fragment, fragment.getShapeVersion(), image, drawBorder, rendered);
+        sprites.put(fragment.getId(), sprite);
+        usedBytes += sprite.bytes;
+        evict(fragment.getId());
+        return rendered;
+    }
+
+    public synchronized void invalidate(PuzzleFragment fragment) {
+        Sprite sprite = sprites.get(fragment.getId());
+        if (sprite != null && sprite.fragment == fragment) {
+            remove(fragment.getId());
+        }
+    }
+
+    public synchronized void clear() {
+        sprites.clear();
+        usedBytes = 0;
+    }
+
+    private void remove(int fragmentId) {
+        Sprite removed = sprites.remove(fragmentId);
+        if (removed != null) {
+            usedBytes -= removed.bytes;
+            removed.image.flush();
+        }
+    }
+
+    private void evict(int retainedFragmentId) {
+        Iterator<Map.Entry<Integer, Sprite>> iterator = sprites.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Integer, Sprite> entry = iterator.next();
+            if (entry.getKey() == retainedFragmentId) {
+                continue;
+            }
+
+            iterator.remove();
+            usedBytes -= entry.getValue().bytes;
+            entry.getValue().image.flush();
+            LOG.debug("Sprite of {} evicted from the cache.", entry.getValue().fragment);
+        }
+    }
+
+    static BufferedImage render(PuzzleFragment fragment, Image image, boolean drawBorder, GraphicsConfiguration configuration) {
+        Rectangle fragmentBounds = fragment.getBounds();
+        int width = Math.max(1, fragmentBounds.width + 1);
+        int height = Math.max(1, fragmentBounds.height + 1);
+
+        BufferedImage sprite = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g2 = sprite.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.translate(-fragmentBounds.x, -fragmentBounds.y);
+
+        g2.setPaint(new TexturePaint((BufferedImage) image, new Rectangle(image.getWidth(null), image.getHeight(null))));
+        g2.fill(fragment.getShape());
+
+        if (drawBorder) {
+            g2.setColor(Color.WHITE);
+            g2.draw(fragment.getShape());
+        }
+
+        g2.dispose();
+        return sprite;
+    }
+
+    private static class Sprite {
+
+        private final PuzzleFragment fragment;
+        private final int shapeVersion;
+        private final Image source;
+        private final boolean drawBorder;
+        private final BufferedImage image;
+        private final long bytes;
+
+        private Sprite(PuzzleFragment fragment, int shapeVersion, Image source, boolean drawBorder, BufferedImage image) {
+            this.fragment = fragment;
+            this.shapeVersion = shapeVersion;
+            this.source = source;
+            this.drawBorder = drawBorder;
+            this.image = image;
+            this.bytes = 4L * image.getWidth() * image.getHeight();
+        }
+
+        private boolean isValidFor(PuzzleFragment fragment, Image source, boolean drawBorder) {
+            return this.fragment == fragment && this.shapeVersion == fragment.getShapeVersion() && this.source == source && this.drawBorder == drawBorder;
+        }
+
+    }
+
+}
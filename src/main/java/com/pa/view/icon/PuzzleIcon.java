@@ -1,32 +1,26 @@
 package com.pa.view.icon;
 
+import com.pa.metrics.PuzzleMetrics;
 import com.pa.model.puzzle.PuzzleFragment;
 
 import javax.swing.JLabel;
-import java.awt.Color;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.Point;
-import java.awt.Rectangle;
-import java.awt.RenderingHints;
-import java.awt.TexturePaint;
 import java.awt.image.BufferedImage;
 
 public class PuzzleIcon extends JLabel {
 
-    private final PuzzleFragment fragment;
+    private PuzzleFragment fragment;
 
     private final Image image;
-    private final Rectangle imageRectangle;
 
     private boolean drawBorder;
     private boolean allowMovement;
+    private boolean lifted;
 
     public PuzzleIcon(Image image, PuzzleFragment fragment) {
         this.fragment = fragment;
         this.image = image;
-        this.imageRectangle = new Rectangle(image.getWidth(null), image.getHeight(null));
         this.drawBorder = true;
         this.allowMovement = true;
     }
@@ -43,36 +37,37 @@ public class PuzzleIcon extends JLabel {
         return allowMovement;
     }
 
+    public boolean isLifted() {
+        return lifted;
+    }
+
+    public void setLifted(boolean lifted) {
+        this.lifted = lifted;
+        repaint();
+    }
+
     public PuzzleFragment getFragment() {
         return fragment;
     }
 
+    public void setFragment(PuzzleFragment fragment) {
+        this.fragment = fragment;
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (fragment == null) {
+        if (fragment == null || fragment.countPieces() == 0 || lifted) {
             return;
         }
 
-        Rectangle fragmentBounds = fragment.getShape().getBounds();
-        Point fragmentNWCorner = new Point(fragmentBounds.x, fragmentBounds.y);
-
-        Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-
-        g2.translate(-fragmentNWCorner.x, -fragmentNWCorner.y);
-
-        g2.setPaint(new TexturePaint((BufferedImage) image, imageRectangle));
-        g2.fill(fragment.getShape());
-
-        if (drawBorder) {
-            g2.setColor(Color.WHITE);
-            g2.draw(fragment.getShape());
-        }
+        long start = System.nanoTime();
+        g.drawImage(getSprite(), 0, 0, null);
+        PuzzleMetrics.getInstance().recordIconPaint(System.nanoTime() - start);
+    }
 
-        g2.translate(fragmentNWCorner.x, fragmentNWCorner.y);
+    public BufferedImage getSprite() {
+        return FragmentSpriteCache.getInstance().getSprite(fragment, image, drawBorder, getGraphicsConfiguration());
     }
 
     @Override
@@ -11,16 +11,22 @@ public class PuzzleIconFactory {
     public static List<PuzzleIcon> createPuzzleIcons(PuzzleFragment[] fragments, Image image) {
         List<PuzzleIcon> icons = new ArrayList<>();
         for (PuzzleFragment fragment : fragments) {
-            PuzzleIcon icon = new PuzzleIcon(image, fragment);
-            if (fragment.isFinalized()) {
-                icon.enableMovement(false);
-                icon.enableDrawingBorder(false);
-            }
-
-            icons.add(icon);
+            icons.add(createPuzzleIcon(fragment, image));
         }
 
         return icons;
     }
 
+    public static PuzzleIcon createPuzzleIcon(PuzzleFragment fragment, Image image) {
+        PuzzleIcon icon = new PuzzleIcon(image, fragment);
+        bindPuzzleIcon(icon, fragment);
+        return icon;
+    }
+
+    public static void bindPuzzleIcon(PuzzleIcon icon, PuzzleFragment fragment) {
+        icon.setFragment(fragment);
+        icon.enableMovement(!fragment.isFinalized());
+        icon.enableDrawingBorder(!fragment.isFinalized());
+    }
+
 }